@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.godaddy.logging.benchmarks;
+
+import com.godaddy.logging.Logger;
+import com.godaddy.logging.LoggingConfigs;
+import com.godaddy.logging.benchmarks.models.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReflectASM vs method handle accessors reading the getters of a typical order, once its plans are built. The cost
+ * of building the accessors is measured by {@link FirstTouchBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessorBenchmark {
+
+    @Param({ "REFLECT_ASM", "METHOD_HANDLES" })
+    public Accessors accessors;
+
+    @Param({ "TEXT", "JSON" })
+    public Format format;
+
+    @Param({ "NOP" })
+    public Backend backend;
+
+    private Logger logger;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        logger = BenchmarkLoggers.create(AccessorBenchmark.class, format, backend,
+                                         LoggingConfigs.builder().accessorStrategy(accessors.getStrategy()).build());
+        order = Corpus.order(3);
+    }
+
+    @Benchmark
+    public void withObject() {
+        logger.with(order).info("order placed");
+    }
+}
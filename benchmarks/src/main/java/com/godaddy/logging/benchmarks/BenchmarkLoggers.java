@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.benchmarks;
+
+import com.godaddy.logging.Logger;
+import com.godaddy.logging.LoggerFactory;
+import com.godaddy.logging.LoggingConfigs;
+import com.godaddy.logging.Slf4WrapperLogger;
+import com.godaddy.logging.logger.LoggerImpl;
+import com.godaddy.logging.logger.MarkerAppendingLogger;
+import org.slf4j.event.Level;
+
+/**
+ * Builds the loggers used by the benchmarks for every {@link Format} and {@link Backend} combination.
+ */
+public final class BenchmarkLoggers {
+
+    /** Threshold of both backends, must match the level in logback.xml. */
+    public static final Level THRESHOLD = Level.INFO;
+
+    private BenchmarkLoggers() { }
+
+    public static Logger create(Class<?> clazz, Format format, Backend backend) {
+        return create(clazz, format, backend, LoggingConfigs.builder().build());
+    }
+
+    public static Logger create(Class<?> clazz, Format format, Backend backend, LoggingConfigs base) {
+        LoggingConfigs configs = format == Format.JSON ? base.useJson() : base;
+
+        if (backend == Backend.NOP) {
+            configs = format == Format.JSON ?
+                      configs.withLogger((c, cfg) -> new MarkerAppendingLogger(discarding(c), cfg)) :
+                      configs.withLogger((c, cfg) -> new LoggerImpl(discarding(c), cfg));
+        }
+
+        return LoggerFactory.getLogger(clazz, configs);
+    }
+
+    private static Slf4WrapperLogger discarding(Class<?> clazz) {
+        return new Slf4WrapperLogger(new DiscardingLogger(clazz.getName(), THRESHOLD));
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.benchmarks;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Defines fresh copies of a top-level model class in throwaway class loaders. Every copy is a new {@link Class} to the
+ * logger, so logging an instance goes through first-touch analysis (accessor generation, bean introspection and
+ * the sorted member caches) again.
+ */
+final class ColdClasses {
+
+    private final Class<?> template;
+
+    private final byte[] bytecode;
+
+    ColdClasses(Class<?> template) {
+        this.template = template;
+
+        try (InputStream stream = template.getResourceAsStream(template.getSimpleName() + ".class")) {
+            this.bytecode = ByteStreams.toByteArray(stream);
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Unable to read bytecode of " + template.getName(), e);
+        }
+    }
+
+    /**
+     * @return a new instance of a class never seen before, created with the template's no-arg constructor.
+     */
+    Object newInstance() {
+        try {
+            return new IsolatingClassLoader().define().newInstance();
+        }
+        catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to instantiate copy of " + template.getName(), e);
+        }
+    }
+
+    private class IsolatingClassLoader extends ClassLoader {
+        IsolatingClassLoader() {
+            super(template.getClassLoader());
+        }
+
+        Class<?> define() {
+            return defineClass(template.getName(), bytecode, 0, bytecode.length);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.benchmarks;
+
+import com.godaddy.logging.benchmarks.models.Address;
+import com.godaddy.logging.benchmarks.models.Country;
+import com.godaddy.logging.benchmarks.models.Customer;
+import com.godaddy.logging.benchmarks.models.HashedAccount;
+import com.godaddy.logging.benchmarks.models.LineItem;
+import com.godaddy.logging.benchmarks.models.Nested;
+import com.godaddy.logging.benchmarks.models.Order;
+import com.godaddy.logging.benchmarks.models.OrderStatus;
+import com.godaddy.logging.benchmarks.models.PartiallyHashedAccount;
+import com.godaddy.logging.benchmarks.models.PlainAccount;
+import com.godaddy.logging.benchmarks.models.Tier;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fixed set of objects handed to {@code with(...)} by the benchmarks. Everything is built from constants so that
+ * runs are comparable between machines and between commits.
+ */
+public final class Corpus {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("5f1b0c5e-8a5e-4f43-9a3c-2f8f0e6b7c11");
+
+    private Corpus() { }
+
+    public static Customer customer() {
+        return new Customer(CUSTOMER_ID, "Jane Doe", "jane.doe@example.com", Tier.PREMIUM,
+                            new Address("14455 N Hayden Rd", "Scottsdale", "85260", Country.USA));
+    }
+
+    public static Order order(int lineCount) {
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("channel", "web");
+        attributes.put("market", "en-US");
+        attributes.put("promotion", "SPRING10");
+
+        return new Order(1000042L, OrderStatus.PAID, customer(), lineItems(lineCount), attributes, 129.97d, 1514764800000L);
+    }
+
+    public static List<LineItem> lineItems(int size) {
+        List<LineItem> lines = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            lines.add(new LineItem("SKU-" + i, i % 5 + 1, 9.99d + i));
+        }
+
+        return lines;
+    }
+
+    public static Map<String, LineItem> lineItemMap(int size) {
+        Map<String, LineItem> map = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            map.put("line" + i, new LineItem("SKU-" + i, i % 5 + 1, 9.99d + i));
+        }
+
+        return map;
+    }
+
+    /**
+     * Builds a chain of {@link Nested} objects {@code depth} levels deep.
+     */
+    public static Nested nested(int depth) {
+        Nested current = null;
+
+        for (int level = depth; level > 0; level--) {
+            current = new Nested("level" + level, level, current);
+        }
+
+        return current;
+    }
+
+    /**
+     * An account with {@code hashedFields} (0, 1 or 4) members marked {@code Scope.HASH}.
+     */
+    public static Object account(int hashedFields) {
+        switch (hashedFields) {
+            case 0:
+                return new PlainAccount("jdoe", "hunter2", "4111-1111-1111-1111", "Fluffy");
+            case 1:
+                return new PartiallyHashedAccount("jdoe", "hunter2", "4111-1111-1111-1111", "Fluffy");
+            case 4:
+                return new HashedAccount("jdoe", "hunter2", "4111-1111-1111-1111", "Fluffy");
+            default:
+                throw new IllegalArgumentException("No account model with " + hashedFields + " hashed fields");
+        }
+    }
+}
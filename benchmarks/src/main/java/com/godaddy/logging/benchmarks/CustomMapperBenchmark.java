@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.benchmarks;
+
+import com.godaddy.logging.Logger;
+import com.godaddy.logging.LoggingConfigs;
+import com.godaddy.logging.benchmarks.models.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Every rendered value is checked against the registered custom mappers. This registers mappers for unrelated
+ * types, so none of them match and the benchmark measures the lookup itself.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomMapperBenchmark {
+
+    private static final Class<?>[] UNRELATED_TYPES = {
+            java.net.URI.class, java.net.URL.class, java.io.File.class, java.nio.file.Path.class,
+            java.time.Instant.class, java.time.Duration.class, java.time.LocalDate.class, java.time.LocalDateTime.class,
+            java.time.ZonedDateTime.class, java.time.OffsetDateTime.class, java.time.ZoneId.class, java.time.Period.class,
+            java.math.BigDecimal.class, java.math.BigInteger.class, java.util.Locale.class, java.util.Currency.class,
+            java.util.Date.class, java.util.TimeZone.class, java.util.regex.Pattern.class, java.nio.charset.Charset.class,
+            java.net.InetAddress.class, java.net.InetSocketAddress.class, java.lang.Thread.class, java.lang.ClassLoader.class,
+            java.io.InputStream.class, java.io.OutputStream.class, java.io.Reader.class, java.io.Writer.class,
+            java.util.concurrent.Future.class, java.util.Optional.class, java.util.BitSet.class, java.lang.StackTraceElement.class
+    };
+
+    @Param({ "0", "8", "32" })
+    public int mapperCount;
+
+    @Param({ "TEXT", "JSON" })
+    public Format format;
+
+    @Param({ "NOP" })
+    public Backend backend;
+
+    private Logger logger;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        Map<Class<?>, Function<Object, String>> mappers = new HashMap<>();
+
+        for (int i = 0; i < mapperCount; i++) {
+            mappers.put(UNRELATED_TYPES[i], Object::toString);
+        }
+
+        logger = BenchmarkLoggers.create(CustomMapperBenchmark.class, format, backend,
+                                         LoggingConfigs.builder().customMapper(mappers).build());
+        order = Corpus.order(3);
+    }
+
+    @Benchmark
+    public void withObject() {
+        logger.with(order).info("order placed");
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.benchmarks;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MarkerIgnoringBase;
+
+/**
+ * An slf4j logger that reports levels as enabled but drops every event. Unlike slf4j's NOPLogger it does not report
+ * every level as disabled, so the library still renders the context and only the backend cost is removed.
+ */
+public class DiscardingLogger extends MarkerIgnoringBase {
+
+    private final Level threshold;
+
+    public DiscardingLogger(final String name, final Level threshold) {
+        this.name = name;
+        this.threshold = threshold;
+    }
+
+    private boolean enabled(Level level) {
+        return level.toInt() >= threshold.toInt();
+    }
+
+    @Override public boolean isTraceEnabled() {
+        return enabled(Level.TRACE);
+    }
+
+    @Override public void trace(final String msg) { }
+
+    @Override public void trace(final String format, final Object arg) { }
+
+    @Override public void trace(final String format, final Object arg1, final Object arg2) { }
+
+    @Override public void trace(final String format, final Object... arguments) { }
+
+    @Override public void trace(final String msg, final Throwable t) { }
+
+    @Override public boolean isDebugEnabled() {
+        return enabled(Level.DEBUG);
+    }
+
+    @Override public void debug(final String msg) { }
+
+    @Override public void debug(final String format, final Object arg) { }
+
+    @Override public void debug(final String format, final Object arg1, final Object arg2) { }
+
+    @Override public void debug(final String format, final Object... arguments) { }
+
+    @Override public void debug(final String msg, final Throwable t) { }
+
+    @Override public boolean isInfoEnabled() {
+        return enabled(Level.INFO);
+    }
+
+    @Override public void info(final String msg) { }
+
+    @Override public void info(final String format, final Object arg) { }
+
+    @Override public void info(final String format, final Object arg1, final Object arg2) { }
+
+    @Override public void info(final String format, final Object... arguments) { }
+
+    @Override public void info(final String msg, final Throwable t) { }
+
+    @Override public boolean isWarnEnabled() {
+        return enabled(Level.WARN);
+    }
+
+    @Override public void warn(final String msg) { }
+
+    @Override public void warn(final String format, final Object arg) { }
+
+    @Override public void warn(final String format, final Object... arguments) { }
+
+    @Override public void warn(final String format, final Object arg1, final Object arg2) { }
+
+    @Override public void warn(final String msg, final Throwable t) { }
+
+    @Override public boolean isErrorEnabled() {
+        return enabled(Level.ERROR);
+    }
+
+    @Override public void error(final String msg) { }
+
+    @Override public void error(final String format, final Object arg) { }
+
+    @Override public void error(final String format, final Object arg1, final Object arg2) { }
+
+    @Override public void error(final String format, final Object... arguments) { }
+
+    @Override public void error(final String msg, final Throwable t) { }
+}
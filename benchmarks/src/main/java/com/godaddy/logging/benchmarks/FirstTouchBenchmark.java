@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.benchmarks;
+
+import com.godaddy.logging.Logger;
+import com.godaddy.logging.LoggingConfigs;
+import com.godaddy.logging.benchmarks.models.ColdCustomer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs instances of classes the logger has never seen, from several threads at once. Exercises the first-touch
+ * path: {@code CacheableAccessors}, {@code Introspector} and accessor generation, ReflectASM classes or spun lambdas.
+ * With {@code accessorCache} the sorted member metadata is read from a warm {@code AccessorCache} instead of being
+ * built, which shows whether reading and hashing the class files beats the sort and introspection it replaces.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = 50)
+@Measurement(iterations = 10, batchSize = 50)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FirstTouchBenchmark {
+
+    @Param({ "REFLECT_ASM", "METHOD_HANDLES" })
+    public Accessors accessors;
+
+    @Param({ "TEXT", "JSON" })
+    public Format format;
+
+    @Param({ "NOP" })
+    public Backend backend;
+
+    @Param({ "false", "true" })
+    public boolean accessorCache;
+
+    private Logger logger;
+
+    private ColdClasses coldClasses;
+
+    @Setup
+    public void setUp() throws IOException {
+        LoggingConfigs configs = LoggingConfigs.builder().accessorStrategy(accessors.getStrategy()).build();
+
+        if (accessorCache) {
+            configs = configs.withAccessorCache(Files.createTempDirectory("accessors"));
+        }
+
+        logger = BenchmarkLoggers.create(FirstTouchBenchmark.class, format, backend, configs);
+        coldClasses = new ColdClasses(ColdCustomer.class);
+
+        // copies share the class files and name of the template, so every copy finds the entries written here
+        logger.with(coldClasses.newInstance()).info("first touch");
+    }
+
+    @Benchmark
+    public void withNewClass() {
+        logger.with(coldClasses.newInstance()).info("first touch");
+    }
+
+}
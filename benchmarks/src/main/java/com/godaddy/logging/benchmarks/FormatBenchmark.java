@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.benchmarks;
+
+import com.godaddy.logging.Logger;
+import com.godaddy.logging.benchmarks.models.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text vs JSON output, NOP vs logback backend, and enabled (INFO) vs disabled (DEBUG) levels for a typical order.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatBenchmark {
+
+    @Param({ "TEXT", "JSON" })
+    public Format format;
+
+    @Param({ "NOP", "LOGBACK_FILE" })
+    public Backend backend;
+
+    @Param({ "INFO", "DEBUG" })
+    public String level;
+
+    private Logger logger;
+
+    private Order order;
+
+    private boolean debug;
+
+    @Setup
+    public void setUp() {
+        logger = BenchmarkLoggers.create(FormatBenchmark.class, format, backend);
+        order = Corpus.order(3);
+        debug = "DEBUG".equals(level);
+    }
+
+    @Benchmark
+    public void message() {
+        if (debug) {
+            logger.debug("order placed");
+        }
+        else {
+            logger.info("order placed");
+        }
+    }
+
+    @Benchmark
+    public void withKeyValue() {
+        if (debug) {
+            logger.with("orderId", 1000042L).debug("order placed");
+        }
+        else {
+            logger.with("orderId", 1000042L).info("order placed");
+        }
+    }
+
+    @Benchmark
+    public void withObject() {
+        if (debug) {
+            logger.with(order).debug("order placed");
+        }
+        else {
+            logger.with(order).info("order placed");
+        }
+    }
+}
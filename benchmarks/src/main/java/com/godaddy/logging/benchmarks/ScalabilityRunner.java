@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.StackProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.Statistics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs {@link ScalabilityBenchmark} and {@link FirstTouchBenchmark} at 1, 2, 4 ... N threads and prints a scaling
+ * summary. The stack profiler is attached to every run; its "BLOCKED" and "WAITING" sections in the JMH output show
+ * where threads contend.
+ *
+ * Usage: {@code java -cp benchmarks.jar com.godaddy.logging.benchmarks.ScalabilityRunner [maxThreads]}, maxThreads
+ * defaults to the number of available processors.
+ */
+public final class ScalabilityRunner {
+
+    private ScalabilityRunner() { }
+
+    public static void main(String[] args) throws RunnerException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        Map<String, Row> rows = new LinkedHashMap<>();
+
+        for (int threads : threadCounts(maxThreads)) {
+            Options options = new OptionsBuilder().include(ScalabilityBenchmark.class.getSimpleName())
+                                                  .include(FirstTouchBenchmark.class.getSimpleName())
+                                                  .threads(threads)
+                                                  .addProfiler(StackProfiler.class, "lines=6;top=10;detailLine=true")
+                                                  .build();
+
+            for (RunResult result : new Runner(options).run()) {
+                BenchmarkParams params = result.getParams();
+
+                Statistics statistics = result.getPrimaryResult().getStatistics();
+
+                String unit = result.getPrimaryResult().getScoreUnit();
+
+                Row row = rows.computeIfAbsent(key(params), Row::new);
+
+                if (params.getMode() == Mode.Throughput) {
+                    row.throughputUnit = unit;
+                    row.throughput.put(threads, statistics.getMean());
+                }
+                else {
+                    row.latencyUnit = unit;
+                    row.p99.put(threads, statistics.getPercentile(99.0));
+                    row.p999.put(threads, statistics.getPercentile(99.9));
+                }
+            }
+        }
+
+        print(rows.values());
+    }
+
+    static List<Integer> threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+
+        counts.add(maxThreads);
+
+        return counts;
+    }
+
+    private static String key(BenchmarkParams params) {
+        StringBuilder key = new StringBuilder(params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.', params.getBenchmark().lastIndexOf('.') - 1) + 1));
+
+        for (String param : params.getParamsKeys()) {
+            key.append(' ').append(param).append('=').append(params.getParam(param));
+        }
+
+        return key.toString();
+    }
+
+    private static void print(Iterable<Row> rows) {
+        System.out.println();
+        System.out.println("Scalability summary (scaling = throughput / (1-thread throughput * threads))");
+
+        for (Row row : rows) {
+            System.out.println();
+            System.out.println(row.name);
+            System.out.println(String.format("  %8s %16s %8s %16s %16s", "threads", row.throughputUnit, "scaling", "p99 " + row.latencyUnit, "p999 " + row.latencyUnit));
+
+            Double single = row.throughput.get(1);
+
+            for (Integer threads : row.threadsSeen()) {
+                Double throughput = row.throughput.get(threads);
+
+                String scaling = throughput == null || single == null ? "-" : String.format("%.2f", throughput / (single * threads));
+
+                System.out.println(String.format("  %8d %16s %8s %16s %16s", threads, format(throughput), scaling,
+                                                 format(row.p99.get(threads)), format(row.p999.get(threads))));
+            }
+        }
+    }
+
+    private static String format(Double value) {
+        return value == null ? "-" : String.format("%.3f", value);
+    }
+
+    private static class Row {
+        private final String name;
+
+        private String throughputUnit = "-";
+
+        private String latencyUnit = "-";
+
+        private final Map<Integer, Double> throughput = new LinkedHashMap<>();
+
+        private final Map<Integer, Double> p99 = new LinkedHashMap<>();
+
+        private final Map<Integer, Double> p999 = new LinkedHashMap<>();
+
+        Row(String name) {
+            this.name = name;
+        }
+
+        Iterable<Integer> threadsSeen() {
+            Map<Integer, Boolean> seen = new LinkedHashMap<>();
+
+            throughput.keySet().forEach(t -> seen.put(t, true));
+            p99.keySet().forEach(t -> seen.put(t, true));
+
+            return seen.keySet();
+        }
+    }
+}
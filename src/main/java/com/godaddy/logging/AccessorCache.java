@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+
+/**
+ * On disk cache of the sorted member metadata {@link CacheableAccessors} builds for a class: member names in logging
+ * order with their {@link Scope}. Entries are keyed by class name and accessor type, accessor strategies list
+ * different members, and by a hash of the class files of the class and its superclasses. An entry whose hash no
+ * longer matches, or whose members no longer resolve, is rebuilt. The hash is computed once per class and shared by
+ * its method and field entries. Warm restarts skip sorting, bean introspection and annotation lookups. Errors reading
+ * or writing the cache are ignored, it only ever costs a rebuild.
+ */
+public class AccessorCache {
+    private final Path directory;
+
+    /** Class file hashes by class, absent if a class file can't be read. */
+    private final Cache<Class<?>, Optional<String>> hashes = CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * @param directory directory entries are written to, created if it does not exist
+     */
+    public AccessorCache(Path directory) {
+        this.directory = directory;
+
+        try {
+            Files.createDirectories(directory);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param accessorType type of the accessor the indexes are into
+     * @param kind         "methods" or "fields"
+     * @param indexOf      resolves a member name to its accessor index
+     * @return the cached members of the class, null if there is no valid entry
+     */
+    LogCache[] load(Class<?> clazz, Class<?> accessorType, String kind, ToIntFunction<String> indexOf, int memberCount) {
+        String hash = hash(clazz);
+
+        Path entry = entry(clazz, accessorType, kind);
+
+        if (hash == null || !Files.isRegularFile(entry)) {
+            return null;
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(entry, StandardCharsets.UTF_8);
+
+            if (lines.isEmpty() || !hash.equals(lines.get(0)) || lines.size() - 1 != memberCount) {
+                return null;
+            }
+
+            LogCache[] members = new LogCache[memberCount];
+
+            for (int i = 0; i < memberCount; i++) {
+                String[] member = lines.get(i + 1).split(" ");
+
+                members[i] = new LogCache(indexOf.applyAsInt(member[0]), Scope.valueOf(member[1]));
+            }
+
+            return members;
+        }
+        catch (IOException | RuntimeException e) {
+            // unreadable or stale, rebuilt by the caller
+            return null;
+        }
+    }
+
+    void store(Class<?> clazz, Class<?> accessorType, String kind, String[] names, LogCache[] members) {
+        String hash = hash(clazz);
+
+        if (hash == null) {
+            return;
+        }
+
+        List<String> lines = new ArrayList<>();
+
+        lines.add(hash);
+
+        for (int i = 0; i < names.length; i++) {
+            lines.add(names[i] + " " + members[i].getLogScope());
+        }
+
+        try {
+            Path temp = Files.createTempFile(directory, clazz.getName(), ".tmp");
+
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+
+            Files.move(temp, entry(clazz, accessorType, kind), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException | RuntimeException e) {
+            // the entry is rebuilt on the next start
+        }
+    }
+
+    private Path entry(Class<?> clazz, Class<?> accessorType, String kind) {
+        return directory.resolve(clazz.getName() + "." + accessorType.getSimpleName() + "." + kind);
+    }
+
+    private String hash(Class<?> clazz) {
+        Optional<String> hash = hashes.getIfPresent(clazz);
+
+        if (hash == null) {
+            hash = Optional.ofNullable(hashClassFiles(clazz));
+
+            hashes.put(clazz, hash);
+        }
+
+        return hash.orElse(null);
+    }
+
+    /**
+     * @return hash of the class files of the class and its superclasses, null if one of them can't be read
+     */
+    private static String hashClassFiles(Class<?> clazz) {
+        Hasher hasher = Hashing.sha256().newHasher();
+
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            ClassLoader classLoader = current.getClassLoader() != null ? current.getClassLoader() : ClassLoader.getSystemClassLoader();
+
+            try (InputStream classFile = classLoader.getResourceAsStream(current.getName().replace('.', '/') + ".class")) {
+                if (classFile == null) {
+                    return null;
+                }
+
+                hasher.putBytes(ByteStreams.toByteArray(classFile));
+            }
+            catch (IOException e) {
+                return null;
+            }
+        }
+
+        return hasher.hash().toString();
+    }
+}
@@ -26,12 +26,18 @@ package com.godaddy.logging;
 
 import com.esotericsoftware.reflectasm.FieldAccess;
 import com.esotericsoftware.reflectasm.MethodAccess;
+import com.godaddy.logging.accessors.ClassAccessor;
 
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
 
 /**
  * Stores a method sorted cache as well as a field sorted cache. These caches are needed because when reflect asm
@@ -40,65 +46,136 @@ import java.util.concurrent.ConcurrentHashMap;
  * in the same order.
  */
 public class CacheableAccessors {
-    private static ConcurrentHashMap<Class<?>, LogCache[]> _methodSortCache = new ConcurrentHashMap<>();
-    private static ConcurrentHashMap<Class<?>, LogCache[]> _fieldSortCache = new ConcurrentHashMap<>();
+    /** Sorted caches by the accessor they index into, indexes of different accessors of a class don't match. */
+    private static ConcurrentHashMap<Class<?>, ConcurrentHashMap<Class<?>, LogCache[]>> _methodSortCaches = new ConcurrentHashMap<>();
+    private static ConcurrentHashMap<Class<?>, ConcurrentHashMap<Class<?>, LogCache[]>> _fieldSortCaches = new ConcurrentHashMap<>();
 
     private CacheableAccessors() { }
 
     /**
      * Builds the method sorted cache. Sorts the methods alphabetically by name.
      */
-    private static void buildMethodCache(Class<?> clazz, MethodAccess methodAccess) {
+    private static LogCache[] buildMethodCache(Class<?> clazz, Class<?> accessorType, String[] methodNames,
+                                               ToIntFunction<String> indexOf, AccessorCache accessorCache) {
+        Map<Class<?>, LogCache[]> methodSortCache = _methodSortCaches.computeIfAbsent(accessorType, type -> new ConcurrentHashMap<>());
 
-        if(!_methodSortCache.containsKey(clazz)) {
-            LogCache[] sortedLogCache = new LogCache[methodAccess.getMethodNames().length];
+        LogCache[] cached = methodSortCache.get(clazz);
 
-            String[] sortedMethodNames = Arrays.copyOf(methodAccess.getMethodNames(), sortedLogCache.length);
+        if(cached == null) {
+            LogCache[] persisted = accessorCache == null ? null :
+                                   accessorCache.load(clazz, accessorType, "methods", indexOf, methodNames.length);
+
+            if (persisted != null) {
+                methodSortCache.put(clazz, persisted);
+                return persisted;
+            }
+
+            LogCache[] sortedLogCache = new LogCache[methodNames.length];
+
+            String[] sortedMethodNames = Arrays.copyOf(methodNames, sortedLogCache.length);
 
             Arrays.sort(sortedMethodNames);
 
+            Map<String, Method> declaredMethods = getDeclaredMethods(clazz);
+
+            Map<String, String> readMethodProperties = getReadMethodProperties(clazz);
+
+            Map<String, Field> declaredFields = getDeclaredFields(clazz);
+
             for(int i = 0; i < sortedLogCache.length; i++) {
-                sortedLogCache[i] = new LogCache(methodAccess.getIndex(sortedMethodNames[i]),
-                                                 getMethodLogScope(clazz, sortedMethodNames[i]));
+                sortedLogCache[i] = new LogCache(indexOf.applyAsInt(sortedMethodNames[i]),
+                                                 getMethodLogScope(sortedMethodNames[i], declaredMethods, readMethodProperties, declaredFields));
             }
 
-            _methodSortCache.put(clazz, sortedLogCache);
+            if (accessorCache != null) {
+                accessorCache.store(clazz, accessorType, "methods", sortedMethodNames, sortedLogCache);
+            }
+
+            methodSortCache.put(clazz, sortedLogCache);
+
+            return sortedLogCache;
         }
 
+        return cached;
     }
 
     /**
      * Builds the field sorted cache. Sorts the fields alphabetically by name.
      */
-    private static void buildFieldCache(Class<?> clazz, FieldAccess fieldAccess) {
+    private static LogCache[] buildFieldCache(Class<?> clazz, Class<?> accessorType, String[] fieldNames,
+                                              ToIntFunction<String> indexOf, AccessorCache accessorCache) {
+        Map<Class<?>, LogCache[]> fieldSortCache = _fieldSortCaches.computeIfAbsent(accessorType, type -> new ConcurrentHashMap<>());
+
+        LogCache[] cached = fieldSortCache.get(clazz);
+
+        if(cached == null) {
+            LogCache[] persisted = accessorCache == null ? null :
+                                   accessorCache.load(clazz, accessorType, "fields", indexOf, fieldNames.length);
+
+            if (persisted != null) {
+                fieldSortCache.put(clazz, persisted);
+                return persisted;
+            }
 
-        if(!_fieldSortCache.contains(clazz)) {
-            LogCache[] sortedLogCache = new LogCache[fieldAccess.getFieldCount()];
+            LogCache[] sortedLogCache = new LogCache[fieldNames.length];
 
-            String[] sortedFieldNames = Arrays.copyOf(fieldAccess.getFieldNames(), sortedLogCache.length);
+            String[] sortedFieldNames = Arrays.copyOf(fieldNames, sortedLogCache.length);
 
             Arrays.sort(sortedFieldNames);
 
+            Map<String, Field> declaredFields = getDeclaredFields(clazz);
+
             for(int i = 0; i < sortedLogCache.length; i++) {
-                sortedLogCache[i] = new LogCache(fieldAccess.getIndex(sortedFieldNames[i]),
-                                                 getLoggingScope(clazz, sortedFieldNames[i]));
+                sortedLogCache[i] = new LogCache(indexOf.applyAsInt(sortedFieldNames[i]),
+                                                 getLoggingScope(sortedFieldNames[i], declaredFields));
+            }
+
+            if (accessorCache != null) {
+                accessorCache.store(clazz, accessorType, "fields", sortedFieldNames, sortedLogCache);
             }
 
-            _fieldSortCache.put(clazz, sortedLogCache);
+            fieldSortCache.put(clazz, sortedLogCache);
+
+            return sortedLogCache;
         }
 
+        return cached;
     }
 
     public static LogCache[] getMethodIndexes(Class<?> clazz, MethodAccess methodAccess) {
-        buildMethodCache(clazz, methodAccess);
+        return getMethodIndexes(clazz, methodAccess, null);
+    }
+
+    /**
+     * @param accessorCache optional on disk cache the sorted methods are read from and written to
+     */
+    public static LogCache[] getMethodIndexes(Class<?> clazz, MethodAccess methodAccess, AccessorCache accessorCache) {
+        return buildMethodCache(clazz, MethodAccess.class, methodAccess.getMethodNames(), methodAccess::getIndex, accessorCache);
+    }
 
-        return _methodSortCache.get(clazz);
+    /**
+     * @param accessorCache optional on disk cache the sorted methods are read from and written to
+     */
+    public static LogCache[] getMethodIndexes(Class<?> clazz, ClassAccessor classAccessor, AccessorCache accessorCache) {
+        return buildMethodCache(clazz, classAccessor.getClass(), classAccessor.getMethodNames(), classAccessor::getMethodIndex, accessorCache);
     }
 
     public static LogCache[] getFieldIndexes(Class<?> clazz, FieldAccess fieldAccess) {
-        buildFieldCache(clazz, fieldAccess);
+        return getFieldIndexes(clazz, fieldAccess, null);
+    }
 
-        return _fieldSortCache.get(clazz);
+    /**
+     * @param accessorCache optional on disk cache the sorted fields are read from and written to
+     */
+    public static LogCache[] getFieldIndexes(Class<?> clazz, FieldAccess fieldAccess, AccessorCache accessorCache) {
+        return buildFieldCache(clazz, FieldAccess.class, fieldAccess.getFieldNames(), fieldAccess::getIndex, accessorCache);
+    }
+
+    /**
+     * @param accessorCache optional on disk cache the sorted fields are read from and written to
+     */
+    public static LogCache[] getFieldIndexes(Class<?> clazz, ClassAccessor classAccessor, AccessorCache accessorCache) {
+        return buildFieldCache(clazz, classAccessor.getClass(), classAccessor.getFieldNames(), classAccessor::getFieldIndex, accessorCache);
     }
 
     /**
@@ -106,48 +183,72 @@ public class CacheableAccessors {
      * this function will check if the method is a getter for a field. If the method is a getter for a field,
      * that fields LoggingScope value will be returned. Else Scope.LOG is returned.
      */
-    private static Scope getMethodLogScope(Class<?> clazz, String methodName) {
-        try {
-            LoggingScope loggingScope = clazz.getDeclaredMethod(methodName).getAnnotation(LoggingScope.class);
+    private static Scope getMethodLogScope(String methodName, Map<String, Method> declaredMethods,
+                                           Map<String, String> readMethodProperties, Map<String, Field> declaredFields) {
+        Method method = declaredMethods.get(methodName);
+
+        LoggingScope loggingScope = method == null ? null : method.getAnnotation(LoggingScope.class);
+
+        if (loggingScope != null) {
+            return loggingScope.scope();
+        }
+
+        String property = readMethodProperties.get(methodName);
+
+        return property == null ? Scope.LOG : getLoggingScope(property, declaredFields);
+    }
 
-            if (loggingScope != null) {
-                return loggingScope.scope();
+    private static Scope getLoggingScope(String fieldName, Map<String, Field> declaredFields) {
+        Field field = declaredFields.get(fieldName);
+
+        LoggingScope loggingScope = field == null ? null : field.getAnnotation(LoggingScope.class);
+
+        return loggingScope == null ? Scope.LOG : loggingScope.scope();
+    }
+
+    /**
+     * Methods without parameters declared by the class itself, by name. Looked up once per class rather than once per
+     * method, inherited methods used to cost a NoSuchMethodException each.
+     */
+    private static Map<String, Method> getDeclaredMethods(Class<?> clazz) {
+        Map<String, Method> methods = new HashMap<>();
+
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.getParameterCount() == 0 && !method.isBridge()) {
+                methods.put(method.getName(), method);
             }
         }
-        catch(NoSuchMethodException e) {
-            // thrown if the method does not exist for the class.
+
+        return methods;
+    }
+
+    private static Map<String, Field> getDeclaredFields(Class<?> clazz) {
+        Map<String, Field> fields = new HashMap<>();
+
+        for (Field field : clazz.getDeclaredFields()) {
+            fields.put(field.getName(), field);
         }
 
-        return getScopeForMethodField(clazz, methodName);
+        return fields;
     }
 
     /**
-     * If the method is a getter for a field, that fields LoggingScope value will be returned.
-     * If the method is not a getter for a field, Scope.LOG is returned.
+     * Bean properties of the class by the name of their read method, introspected once per class.
      */
-    private static Scope getScopeForMethodField(Class<?> clazz, String methodName) {
+    private static Map<String, String> getReadMethodProperties(Class<?> clazz) {
+        Map<String, String> properties = new HashMap<>();
 
         try {
-            for(PropertyDescriptor propertyDescriptor: Introspector.getBeanInfo(clazz).getPropertyDescriptors()) {
-                if (methodName.equals(propertyDescriptor.getReadMethod().getName())) {
-                    return getLoggingScope(clazz, propertyDescriptor.getName());
+            for (PropertyDescriptor propertyDescriptor : Introspector.getBeanInfo(clazz).getPropertyDescriptors()) {
+                if (propertyDescriptor.getReadMethod() != null) {
+                    properties.putIfAbsent(propertyDescriptor.getReadMethod().getName(), propertyDescriptor.getName());
                 }
             }
         }
         catch (IntrospectionException e) {
 
         }
-        return Scope.LOG;
-    }
-
-    private static Scope getLoggingScope(Class<?> clazz, String fieldName) {
-        try {
-            LoggingScope loggingScope = clazz.getDeclaredField(fieldName).getAnnotation(LoggingScope.class);
 
-            return loggingScope == null ? Scope.LOG : loggingScope.scope();
-        }
-        catch (NoSuchFieldException e) {
-            return Scope.LOG;
-        }
+        return properties;
     }
 }
@@ -26,4 +26,10 @@ public class CommonKeys {
     public static final String LOG_MESSAGE_KEY = "_message";
 
     public static final String UNNAMED_VALUES_KEY = "_unnamed_values";
+
+    /** Added to a truncated map, holds the real number of entries. */
+    public static final String TOTAL_SIZE_KEY = "_total";
+
+    /** Appended as last element of a truncated collection, followed by the real number of elements. */
+    public static final String TRUNCATED_MARKER = "...";
 }
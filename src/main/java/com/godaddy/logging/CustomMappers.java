@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable snapshot of the custom mappers of a {@link LoggingConfigs} together with the state derived from them: the
+ * mapper resolved for each logged class and the fragments rendered with them. Registering a mapper replaces the whole
+ * snapshot, so logging threads read it without locking and never mix derived state from different sets of mappers.
+ */
+@EqualsAndHashCode(of = "mappers")
+@ToString(of = "mappers")
+final class CustomMappers {
+    /** Mappers in registration order, the first one assignable from a class applies to it. */
+    @Getter
+    private final Map<Class<?>, Function<Object, String>> mappers;
+
+    private final ConcurrentHashMap<Class<?>, Optional<Class<?>>> resolved = new ConcurrentHashMap<>();
+
+    private final Supplier<RenderCache> renderCache;
+
+    private final long renderCacheSize;
+
+    private final int recursiveLevel;
+
+    CustomMappers(Map<Class<?>, Function<Object, String>> mappers, long renderCacheSize, int recursiveLevel) {
+        this.mappers = ImmutableMap.copyOf(mappers);
+        this.renderCacheSize = renderCacheSize;
+        this.recursiveLevel = recursiveLevel;
+        this.renderCache = Suppliers.memoize(() -> new RenderCache(renderCacheSize, recursiveLevel));
+    }
+
+    /**
+     * @return a snapshot with the mapper added, replacing the one registered for the same class if any
+     */
+    CustomMappers with(Class<?> clazz, Function<Object, String> mapper) {
+        Map<Class<?>, Function<Object, String>> copy = new LinkedHashMap<>(mappers);
+
+        copy.put(clazz, mapper);
+
+        return new CustomMappers(copy, renderCacheSize, recursiveLevel);
+    }
+
+    Optional<Class<?>> find(Class<?> clazz) {
+        Optional<Class<?>> mapper = resolved.get(clazz);
+
+        return mapper != null ? mapper : resolved.computeIfAbsent(clazz, c -> mappers.keySet()
+                                                                                      .stream()
+                                                                                      .filter(i -> i.isAssignableFrom(c))
+                                                                                      .findFirst());
+    }
+
+    Optional<Function<Object, String>> findFunction(Class<?> clazz) {
+        return find(clazz).map(mappers::get);
+    }
+
+    RenderCache getRenderCache() {
+        return renderCache.get();
+    }
+}
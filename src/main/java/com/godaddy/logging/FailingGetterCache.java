@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Negative cache for getters that throw. Every time a getter throws while being logged a failure is recorded against
+ * it. Once a getter reaches the configured number of failures it is no longer called: depending on the {@link Action}
+ * it is logged as {@link #SKIPPED_GETTER} or as the translation of its last exception, so the exception is not
+ * constructed and translated again on every event. Cached getters stay cached until {@link #reset()}.
+ */
+public class FailingGetterCache {
+    public enum Action {
+        /** The cached getter is logged as {@link #SKIPPED_GETTER}. */
+        SKIP_GETTER,
+
+        /** The cached getter is logged as the translation of the last exception it threw. */
+        TRANSLATE
+    }
+
+    /** Logged in place of the value of a cached getter with {@link Action#SKIP_GETTER}. */
+    public static final String SKIPPED_GETTER = "<Skipped failing getter>";
+
+    private final int failuresToCache;
+
+    private final Action action;
+
+    private final Map<Class<?>, Map<String, AtomicInteger>> failures = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Map<String, String>> cached = new ConcurrentHashMap<>();
+
+    /**
+     * @param failuresToCache number of failures after which a getter is no longer called
+     * @param action          what is logged in place of a cached getter
+     */
+    public FailingGetterCache(int failuresToCache, Action action) {
+        this.failuresToCache = failuresToCache;
+        this.action = action;
+    }
+
+    /**
+     * Records that the getter threw.
+     *
+     * @param translation the exception as translated by the {@link ExceptionTranslator}
+     */
+    public void recordFailure(Class<?> clazz, String getter, String translation) {
+        int count = failures.computeIfAbsent(clazz, c -> new ConcurrentHashMap<>())
+                            .computeIfAbsent(getter, g -> new AtomicInteger())
+                            .incrementAndGet();
+
+        if (count >= failuresToCache) {
+            cached.computeIfAbsent(clazz, c -> new ConcurrentHashMap<>())
+                  .put(getter, action == Action.SKIP_GETTER ? SKIPPED_GETTER : String.valueOf(translation));
+        }
+    }
+
+    /**
+     * @return what to log in place of the getter, null if the getter must still be called
+     */
+    public String getCached(Class<?> clazz, String getter) {
+        if (cached.isEmpty()) {
+            return null;
+        }
+
+        Map<String, String> getters = cached.get(clazz);
+
+        return getters == null ? null : getters.get(getter);
+    }
+
+    public int getFailures(Class<?> clazz, String getter) {
+        Map<String, AtomicInteger> byGetter = failures.get(clazz);
+
+        AtomicInteger count = byGetter == null ? null : byGetter.get(getter);
+
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @return what is logged in place of the cached getters, by class and getter
+     */
+    public Map<Class<?>, Map<String, String>> getCached() {
+        return Collections.unmodifiableMap(cached);
+    }
+
+    /**
+     * Forgets all failures, cached getters are called again.
+     */
+    public void reset() {
+        failures.clear();
+        cached.clear();
+    }
+}
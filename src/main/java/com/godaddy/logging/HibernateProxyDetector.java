@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Detects uninitialized Hibernate proxies and persistent collections with {@code Hibernate.isInitialized}. Hibernate
+ * is looked up at runtime and is not a dependency, the detector is one of the defaults when it is on the class path.
+ */
+public class HibernateProxyDetector implements ProxyDetector {
+    private static final MethodHandle IS_INITIALIZED = findIsInitialized();
+
+    public static boolean isAvailable() {
+        return IS_INITIALIZED != null;
+    }
+
+    @Override public boolean isUninitialized(Object value) {
+        if (IS_INITIALIZED == null) {
+            return false;
+        }
+
+        try {
+            return !(boolean) IS_INITIALIZED.invokeExact(value);
+        }
+        catch (Throwable t) {
+            // rather leave the value out than risk loading it
+            return true;
+        }
+    }
+
+    private static MethodHandle findIsInitialized() {
+        try {
+            Class<?> hibernate = Class.forName("org.hibernate.Hibernate", false, HibernateProxyDetector.class.getClassLoader());
+
+            return MethodHandles.publicLookup()
+                                .findStatic(hibernate, "isInitialized", MethodType.methodType(boolean.class, Object.class));
+        }
+        catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -24,8 +24,25 @@
 
 package com.godaddy.logging;
 
+import lombok.Getter;
+import lombok.Setter;
+import org.slf4j.event.Level;
+
 /**
  * A running log context to be passed through message builders.  The data
  * will contain the result of previous message builders
  */
-public abstract class LogContext<T>{}
+public abstract class LogContext<T>{
+    /**
+     * Budget of the event being built, handed from the builder of one with value to the next. Null when the configs
+     * set no per event budget.
+     */
+    @Getter @Setter
+    private RenderBudget budget;
+
+    /**
+     * Level of the event being built, which picks the configs' level profile, see {@link LoggingConfigs#forLevel}.
+     */
+    @Getter @Setter
+    private Level level;
+}
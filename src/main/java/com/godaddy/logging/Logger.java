@@ -34,6 +34,20 @@ public interface Logger extends org.slf4j.Logger {
      */
     Logger with(Object obj);
 
+    /**
+     * Adds only the given property paths of the object to the logger, e.g. {@code with(order, "id", "customer.tier",
+     * "lines.size")}. Getters and fields outside the paths are never read, see {@link Projection}. At least one path
+     * is required, which keeps {@code with(key, value)} calls unambiguous. Loggers that don't project add the whole
+     * object, as {@link #with(Object)} does.
+     * @param obj : Object to be added to the logs
+     * @param path : property path, keys separated by dots
+     * @param paths : further property paths
+     * @return logger instance
+     */
+    default Logger with(Object obj, String path, String... paths) {
+        return with(obj);
+    }
+
     void error(Throwable t, String format, Object... args);
 
     void warn(Throwable t, String format, Object... args);
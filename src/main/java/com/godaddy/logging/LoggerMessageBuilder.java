@@ -22,26 +22,56 @@
 
 package com.godaddy.logging;
 
-import com.esotericsoftware.reflectasm.FieldAccess;
-import com.esotericsoftware.reflectasm.MethodAccess;
+import com.godaddy.logging.accessors.ClassAccessor;
+import com.godaddy.logging.profiling.RenderProfiler;
+import com.godaddy.logging.profiling.RenderSample;
 import com.google.common.collect.Lists;
 import com.google.common.primitives.Primitives;
 
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 
 public abstract class LoggerMessageBuilder<T> implements MessageBuilder<T> {
 
+    /** Logged in place of a proxy or lazy collection that has not been loaded, see {@link ProxyDetector}. */
+    public static final String UNINITIALIZED_PROXY = "<Uninitialized proxy not logged>";
+
     private List<Object> processedObjects = new LinkedList<>();
 
+    /**
+     * Number of objects not rendered because they had already been processed by this builder.
+     */
+    private int cyclesCut;
+
     protected LoggingConfigs configs;
 
     protected Integer currentRecursiveLevel = 0;
 
+    /**
+     * Counters of the render in progress when a {@link RenderProfiler} is configured, shared with child builders.
+     */
+    protected RenderSample sample;
+
+    /**
+     * Per event budget, shared with child builders and with the builders of the event's other with values.
+     */
+    protected RenderBudget budget;
+
+    /**
+     * Projection of the value being rendered, null when it is rendered as a whole or with the projection configured
+     * for its class. Inherited by child builders, which render the elements of projected collections.
+     */
+    protected Projection projection;
+
     public LoggerMessageBuilder(LoggingConfigs configs) {
         this.configs = configs;
     }
@@ -54,11 +84,117 @@ public abstract class LoggerMessageBuilder<T> implements MessageBuilder<T> {
     @Override
     public abstract RunningLogContext<T> buildMessage(final LogContext<T> previous, final Object currentObject);
 
+    /**
+     * Entry point for rendering the object passed to the logger. Records the render in the configured
+     * {@link RenderProfiler}, unless this builder is a child of a render that is already being recorded.
+     */
+    protected void buildRootMessage(Object obj, List<String> path, String currentField) {
+        RenderProfiler profiler = configs.getRenderProfiler();
+
+        if (profiler == null || sample != null) {
+            buildMessage(obj, path, currentField);
+            return;
+        }
+
+        sample = profiler.start(obj);
+
+        try {
+            buildMessage(obj, path, currentField);
+        }
+        finally {
+            profiler.record(sample);
+
+            sample = null;
+        }
+    }
+
+    /**
+     * Attaches a builder created to render part of the current object to the current render.
+     */
+    protected <B extends LoggerMessageBuilder<?>> B child(B builder) {
+        builder.sample = sample;
+        builder.budget = budget;
+        builder.projection = projection;
+
+        return builder;
+    }
+
+    /**
+     * Attaches a builder rendering part of the current object on another thread. It shares the event budget, which
+     * is thread safe, but not the profiler sample.
+     */
+    protected <B extends LoggerMessageBuilder<?>> B detachedChild(B builder) {
+        builder.budget = budget;
+        builder.projection = projection;
+
+        return builder;
+    }
+
+    /**
+     * Picks up the budget of the event from the previous builder's context, or starts it for the first with value.
+     * Child builders already share their parent's.
+     */
+    protected void joinBudget(LogContext<?> previous) {
+        if (budget == null) {
+            budget = previous != null && previous.getBudget() != null ? previous.getBudget() : RenderBudget.of(configs);
+        }
+    }
+
+    /**
+     * Hands the budget of the event on to the next builder.
+     */
+    protected <C extends LogContext<?>> C passBudget(C context) {
+        if (context != null && budget != null) {
+            context.setBudget(budget);
+        }
+
+        return context;
+    }
+
+    /**
+     * @return whether the event budget is used up, in which case nothing more should be read
+     */
+    protected boolean isBudgetExhausted() {
+        return budget != null && budget.isExhausted();
+    }
+
+    /**
+     * @return number of getters and fields read to render the object's own members, 1 for single values
+     */
+    protected int estimateMembers(Object obj) {
+        if (obj == null || obj instanceof String || Primitives.isWrapperType(obj.getClass()) || obj instanceof Enum ||
+            obj instanceof Collection || obj instanceof Map || obj.getClass().isArray()) {
+            return 1;
+        }
+
+        RenderPlan plan = configs.findRenderPlan(obj.getClass());
+
+        return plan == null ? 1 : Math.max(1, plan.getGetters().size() + plan.getFields().size());
+    }
+
     protected void buildMessage(Object obj, List<String> path, String currentField) {
+        if (obj instanceof Projected) {
+            Projected projected = (Projected) obj;
+
+            if (isSizeProjected(projected.getProjection(), projected.getValue())) {
+                buildMessage(sizeOf(projected.getValue()), path, formatField(currentField, Projection.SIZE));
+            }
+            else {
+                buildMember(projected.getProjection(), projected.getValue(), path, currentField);
+            }
+
+            return;
+        }
+
         if (currentRecursiveLevel > configs.getRecursiveLevel()) {
             return;
         }
 
+        if (budget != null && !budget.visit()) {
+            budgetExhausted(currentField);
+            return;
+        }
+
         /**
          * If the custom mapper contains a key that is assignable from obj.getClass() then the function related to the value of the
          * custom mappers key is applied and appended to the builder.
@@ -69,30 +205,59 @@ public abstract class LoggerMessageBuilder<T> implements MessageBuilder<T> {
 
         /** If the object is null "=<null>" is appended to show that the object was null in the logs. */
         if (obj == null) {
-            processNull(currentField);
+            if (valueRendered(currentField, null)) {
+                processNull(currentField);
+            }
         }
         else if (obj instanceof LogMessage) {
             processLogMessage((LogMessage) obj);
         }
+        /** Stop types and unloaded proxies are not read at all, not even the size of a lazy collection. */
+        else if (isGuarded(obj)) {
+            String placeholder = configs.isStopType(obj.getClass()) ? notLogged(obj.getClass()) : UNINITIALIZED_PROXY;
+
+            if (valueRendered(currentField, placeholder)) {
+                processCustomImpl(currentField, placeholder);
+            }
+        }
         /** If the object is an instance of collection, only the size of the collection is logged. */
         else if (obj instanceof Collection<?>) {
             processCollection(currentField, (Collection) obj);
         }
         else if (obj.getClass().isArray()) {
-            processArray(currentField, obj);
+            Map<String, Object> summary = configs.getArraySummaryTypes().contains(obj.getClass()) ?
+                                          PrimitiveArrays.summarize(obj, configs.getArraySummaryEdge()) : null;
+
+            if (summary != null) {
+                processMap(currentField, summary);
+            }
+            else {
+                processArray(currentField, obj);
+            }
         }
         else if (obj instanceof Map) {
             processMap(currentField, (Map) obj);
         }
         /** If the object is an instance of String, the String is wrapped in quotes. */
         else if (obj instanceof String) {
-            processString(currentField, (String) obj);
+            String str = truncate((String) obj);
+
+            if (valueRendered(currentField, str)) {
+                processString(currentField, str);
+            }
         }
         else if (Primitives.isWrapperType(obj.getClass())) {
-            processPrimitive(currentField, obj);
+            if (valueRendered(currentField, obj)) {
+                processPrimitive(currentField, obj);
+            }
         }
         else if (obj instanceof Enum) {
-            processEnum(currentField, obj);
+            if (valueRendered(currentField, obj)) {
+                processEnum(currentField, obj);
+            }
+        }
+        else if (configs.findRenderPlan(obj.getClass()) == null || isDowngraded(obj.getClass())) {
+            processUnplanned(obj, currentField);
         }
         else {
             processObject(obj, path, currentField);
@@ -117,6 +282,8 @@ public abstract class LoggerMessageBuilder<T> implements MessageBuilder<T> {
 
     protected boolean processObject(Object obj, List<String> path, String currentField) {
         if (cyclesDetected(obj)) {
+            cyclesCut++;
+
             return false;
         }
 
@@ -129,6 +296,65 @@ public abstract class LoggerMessageBuilder<T> implements MessageBuilder<T> {
         return true;
     }
 
+    /**
+     * Takes over the state a cached render of an object left behind: the objects it processed and the objects it
+     * rendered, as if the object had just been rendered again.
+     *
+     * @param obj      the object the fragment was rendered for
+     * @param fragment the cached render of the object
+     * @return false, leaving the state untouched, if any of the objects has already been processed by this builder
+     * and rendering again would not give the cached fragment
+     */
+    protected boolean replay(Object obj, RenderCache.Fragment fragment) {
+        if (cyclesDetected(obj)) {
+            return false;
+        }
+
+        for (WeakReference<Object> processed : fragment.getProcessedObjects()) {
+            Object below = processed.get();
+
+            // an object no longer referenced anywhere can't be reached again in this event
+            if (below != null && cyclesDetected(below)) {
+                return false;
+            }
+        }
+
+        markObjectAsProcessed(obj);
+
+        for (WeakReference<Object> processed : fragment.getProcessedObjects()) {
+            Object below = processed.get();
+
+            if (below != null) {
+                markObjectAsProcessed(below);
+            }
+        }
+
+        currentRecursiveLevel += fragment.getRenderedObjects();
+
+        return true;
+    }
+
+    protected int getProcessedObjectCount() {
+        return processedObjects.size();
+    }
+
+    /**
+     * @return weak references to the objects processed after the given count was taken, in order
+     */
+    protected List<WeakReference<Object>> getProcessedObjectsSince(int count) {
+        List<WeakReference<Object>> processed = new ArrayList<>(processedObjects.size() - count);
+
+        for (Object obj : processedObjects.subList(count, processedObjects.size())) {
+            processed.add(new WeakReference<>(obj));
+        }
+
+        return processed;
+    }
+
+    protected int getCyclesCut() {
+        return cyclesCut;
+    }
+
     private void markObjectAsProcessed(final Object obj) {
         processedObjects.add(obj);
     }
@@ -145,46 +371,59 @@ public abstract class LoggerMessageBuilder<T> implements MessageBuilder<T> {
     }
 
     protected boolean processedCustom(Object obj, String currentField) {
-        if (configs.getCustomMapper() == null || obj == null || obj instanceof LogMessage) {
+        if (obj == null || obj instanceof LogMessage) {
             return false;
         }
 
-        final Optional<Class<?>> customMap = configs.getCustomMapper()
-                                                    .keySet()
-                                                    .stream()
-                                                    .filter(i -> i.isAssignableFrom(obj.getClass()))
-                                                    .findFirst();
+        final Optional<Function<Object, String>> customMap = configs.findCustomMapperFunction(obj.getClass());
 
         if (!customMap.isPresent()) {
             return false;
         }
 
-        processCustomImpl(currentField, configs.getCustomMapper()
-                                               .get(customMap.get())
-                                               .apply(obj));
+        String message = truncate(customMap.get().apply(obj));
+
+        if (valueRendered(currentField, message)) {
+            processCustomImpl(currentField, message);
+        }
 
         return true;
     }
 
     protected abstract void processCustomImpl(String currentField, String message);
 
-    protected String trimMethodOfPrefix(String methodName) {
-        for (String startsWith : configs.getMethodPrefixes()) {
-            if (methodName.startsWith(startsWith)) {
-                return methodName.length() == startsWith.length() ?
-                       methodName
-                                                                  :
-                       Character.toLowerCase(methodName.charAt(startsWith.length())) +
-                       methodName.substring(startsWith.length() + 1);
-            }
+    /**
+     * Renders an object as its class name and toString, when its plan is being built in the background or its class
+     * was downgraded by the {@link SlowGetterBreaker}.
+     */
+    protected void processUnplanned(Object obj, String currentField) {
+        String message;
+
+        try {
+            message = obj.getClass().getName() + ": " + obj;
+        }
+        catch (Throwable t) {
+            exceptionSwallowed();
+
+            message = configs.getExceptionTranslator().translate(t);
         }
 
-        return null;
+        message = truncate(message);
+
+        if (valueRendered(currentField, message)) {
+            processCustomImpl(currentField, message);
+        }
     }
 
-    protected String formatMethod(List<String> path, String currentField) {
-        currentField = trimMethodOfPrefix(currentField);
+    protected String trimMethodOfPrefix(String methodName) {
+        return RenderPlan.trimMethodOfPrefix(methodName, configs.getMethodPrefixes());
+    }
 
+    /**
+     * @param path         path of the object the getter belongs to, the getter's key is appended to it
+     * @param currentField key of the getter, the method name already trimmed of its prefix
+     */
+    protected String formatMethod(List<String> path, String currentField) {
         StringBuilder pathBuilder = new StringBuilder();
 
         path.stream().forEach(p -> pathBuilder.append(p).append("."));
@@ -206,93 +445,474 @@ public abstract class LoggerMessageBuilder<T> implements MessageBuilder<T> {
      */
     private void recurseThroughObject(Object obj, List<String> path, String currentField) {
 
-        MethodAccess methodAccess = MethodAccess.get(obj.getClass());
+        Projection node = projection != null ? projection : configs.findProjection(obj.getClass());
 
-        for (LogCache logCache : CacheableAccessors.getMethodIndexes(obj.getClass(), methodAccess)) {
+        RenderPlan plan = node == null ? configs.getRenderPlan(obj.getClass()) : configs.getRenderPlan(obj.getClass(), node);
 
-            if (canLogMethod(logCache, methodAccess)) {
+        ClassAccessor accessor = plan.getAccessor();
 
-                List<String> recursivePath = Lists.newArrayList(path);
+        // getters are only timed against an event time budget
+        SlowGetterBreaker breaker = budget == null || configs.getTimeBudgetNanos() == null ? null : configs.getSlowGetterBreaker();
 
-                Object logResult;
+        FailingGetterCache failureCache = configs.getFailingGetterCache();
 
-                try {
-                    logResult = methodAccess.invoke(obj, logCache.getIndex());
-                }
-                catch(IllegalAccessError er) {
-                    logResult = "<Illegal Method Access Error>";
-                }
-                catch (Throwable t) {
-                    logResult = configs.getExceptionTranslator().translate(t);
-                }
+        int members = plan.getGetters().size() + plan.getFields().size();
 
-                try {
-                    buildMessage(getLogMessage(logCache, logResult), recursivePath,
-                                 formatMethod(recursivePath, methodAccess.getMethodNames()[logCache.getIndex()]));
-                }
-                catch (Throwable t) {
-                    // result is ignored, but can be captured for debugging since we've already tried to catch
-                    // and build
-                    configs.getExceptionTranslator().translate(t);
-                }
+        int remaining = configs.getMaxFieldsPerObject() == null ? members : configs.getMaxFieldsPerObject();
+
+        for (RenderPlan.Member getter : plan.getGetters()) {
+            if (remaining-- <= 0 || isBudgetExhausted()) {
+                break;
             }
-        }
 
-        FieldAccess fieldAccess = FieldAccess.get(obj.getClass());
+            List<String> recursivePath = Lists.newArrayList(path);
 
-        for (LogCache logCache : CacheableAccessors.getFieldIndexes(obj.getClass(), fieldAccess)) {
-            String fieldName = "???";
+            Object logResult = readGetter(obj, accessor, getter, breaker, failureCache);
 
             try {
-                if (Scope.SKIP == logCache.getLogScope()) {
-                    continue;
-                }
+                Projection memberProjection = node == null ? null : node.child(getter.getKey());
+
+                boolean sized = isSizeProjected(memberProjection, logResult);
 
-                fieldName = fieldAccess.getFieldNames()[logCache.getIndex()];
+                buildMember(memberProjection, sized ? sizeOf(logResult) : getLogMessage(getter.getScope(), logResult), recursivePath,
+                            formatMethod(recursivePath, sized ? getter.getKey() + "." + Projection.SIZE : getter.getKey()));
+            }
+            catch (Throwable t) {
+                // result is ignored, but can be captured for debugging since we've already tried to catch
+                // and build
+                exceptionSwallowed();
+
+                configs.getExceptionTranslator().translate(t);
+            }
+        }
 
+        for (RenderPlan.Member field : plan.getFields()) {
+            if (remaining-- <= 0 || isBudgetExhausted()) {
+                break;
+            }
+
+            String fieldName = field.getName();
+
+            try {
                 List<String> recursivePath = Lists.newArrayList(path);
                 recursivePath.add(fieldName);
 
-                if (!configs.getExcludesPrefixes().stream().anyMatch(fieldName::startsWith)) {
-                    buildMessage(getLogMessage(logCache, fieldAccess.get(obj, logCache.getIndex())), recursivePath,
-                                 formatField(currentField, fieldName));
-                }
+                Object value = field.isStopped() ? notLogged(field.getType()) : accessor.get(obj, field.getIndex());
+
+                Projection memberProjection = node == null ? null : node.child(fieldName);
+
+                boolean sized = isSizeProjected(memberProjection, value);
+
+                buildMember(memberProjection, sized ? sizeOf(value) : getLogMessage(field.getScope(), value), recursivePath,
+                            formatField(currentField, sized ? fieldName + "." + Projection.SIZE : fieldName));
             }
             catch (Throwable t) {
+                exceptionSwallowed();
+
                 String fieldError = configs.getExceptionTranslator().translate(t);
 
-                buildMessage(getLogMessage(logCache, fieldError), path,
+                buildMessage(getLogMessage(field.getScope(), fieldError), path,
                              formatField(currentField, fieldName));
             }
         }
 
+        if (configs.getMaxFieldsPerObject() != null && members > configs.getMaxFieldsPerObject() && !isBudgetExhausted()) {
+            processPrimitive(formatField(currentField, CommonKeys.TOTAL_SIZE_KEY), members);
+        }
     }
 
-    protected String formatField(String currentField, String fieldName) {
-        return currentField.isEmpty() ? fieldName : currentField + "." + fieldName;
+    /**
+     * Reads a getter, unless it is stopped, tripped the {@link SlowGetterBreaker} or has a cached failure. Failures are
+     * translated and recorded.
+     *
+     * @return the value of the getter, or what is logged in its place
+     */
+    private Object readGetter(Object obj, ClassAccessor accessor, RenderPlan.Member getter, SlowGetterBreaker breaker,
+                              FailingGetterCache failureCache) {
+        String cachedFailure = failureCache == null ? null : failureCache.getCached(obj.getClass(), getter.getName());
+
+        try {
+            if (getter.isStopped()) {
+                return notLogged(getter.getType());
+            }
+
+            if (breaker != null && breaker.isSkipped(obj.getClass(), getter.getName())) {
+                return SlowGetterBreaker.SKIPPED_GETTER;
+            }
+
+            if (cachedFailure != null) {
+                if (configs.getRenderProfiler() != null) {
+                    configs.getRenderProfiler().recordCachedFailure(obj.getClass(), getter.getName());
+                }
+
+                return cachedFailure;
+            }
+
+            getterCalled();
+
+            long started = breaker == null ? 0 : System.nanoTime();
+
+            Object logResult = accessor.invoke(obj, getter.getIndex());
+
+            // the value itself is not rendered, the truncation marker takes its place. Only a getter that used up
+            // half the budget by itself is charged, not one that returned just past a deadline others ran up to
+            if (breaker != null) {
+                if (budget.isOutOfTime() && System.nanoTime() - started >= configs.getTimeBudgetNanos() / 2) {
+                    breaker.recordBreach(obj.getClass(), getter.getName());
+                }
+                else {
+                    breaker.recordInTime(obj.getClass(), getter.getName());
+                }
+            }
+
+            return logResult;
+        }
+        catch(IllegalAccessError er) {
+            return "<Illegal Method Access Error>";
+        }
+        catch (Throwable t) {
+            exceptionSwallowed();
+
+            String logResult = configs.getExceptionTranslator().translate(t);
+
+            getterFailed(obj.getClass(), getter.getName(), t, logResult);
+
+            return logResult;
+        }
+    }
+
+    /**
+     * Records a getter that threw in the {@link FailingGetterCache} and the profiler, when configured.
+     */
+    private void getterFailed(Class<?> clazz, String getter, Throwable t, String translation) {
+        if (configs.getFailingGetterCache() != null) {
+            configs.getFailingGetterCache().recordFailure(clazz, getter, translation);
+        }
+
+        if (configs.getRenderProfiler() != null) {
+            configs.getRenderProfiler().recordGetterFailure(clazz, getter, t);
+        }
+    }
+
+    /**
+     * Renders a member's value with the member's projection in effect, null renders it as a whole.
+     */
+    private void buildMember(Projection memberProjection, Object value, List<String> path, String currentField) {
+        Projection outer = projection;
+
+        projection = memberProjection;
+
+        try {
+            buildMessage(value, path, currentField);
+        }
+        finally {
+            projection = outer;
+        }
     }
 
-    private boolean canLogMethod(LogCache logCache, MethodAccess methodAccess) {
-        boolean logScopeSkip = Scope.SKIP == logCache.getLogScope();
+    /**
+     * @return whether the value is a collection, map or array to log as its size under the projection
+     */
+    private boolean isSizeProjected(Projection memberProjection, Object value) {
+        return memberProjection != null && memberProjection.isSize() && value != null &&
+               (value instanceof Collection || value instanceof Map || value.getClass().isArray()) && !isGuarded(value);
+    }
 
-        boolean returnTypeNotVoid = methodAccess.getReturnTypes()[logCache.getIndex()] != void.class;
+    /**
+     * @return whether a projection is in effect for the value being rendered, whose rendering then depends on where
+     * the value is logged and can't be cached
+     */
+    protected boolean isProjected() {
+        return projection != null;
+    }
+
+    /**
+     * @return whether the value is of a stop type or an unloaded proxy, single values never are
+     */
+    private boolean isGuarded(Object obj) {
+        if (obj instanceof String || obj instanceof Enum || Primitives.isWrapperType(obj.getClass())) {
+            return false;
+        }
 
-        boolean methodHasNoParameters = methodAccess.getParameterTypes()[logCache.getIndex()].length == 0;
+        return configs.isStopType(obj.getClass()) || configs.isUninitialized(obj);
+    }
 
-        boolean methodStartsWithDefinedPrefix = trimMethodOfPrefix(methodAccess.getMethodNames()[logCache.getIndex()]) != null;
+    /**
+     * @return placeholder logged in place of a value of a stop type
+     */
+    private static String notLogged(Class<?> type) {
+        return "<" + type.getName() + " not logged>";
+    }
 
-        return !logScopeSkip && returnTypeNotVoid && methodHasNoParameters && methodStartsWithDefinedPrefix;
+    private boolean isDowngraded(Class<?> clazz) {
+        return configs.getSlowGetterBreaker() != null && configs.getSlowGetterBreaker().isDowngraded(clazz);
     }
 
-    private Object getLogMessage(LogCache logCache, Object object) {
-        if (logCache.getLogScope() == Scope.HASH) {
+    /**
+     * @return the string cut to {@link LoggingConfigs#getMaxStringLength()} characters followed by a truncation marker
+     * holding its length, the string itself if it is short enough
+     */
+    protected String truncate(String str) {
+        Integer maxLength = configs.getMaxStringLength();
+
+        if (str == null || maxLength == null || str.length() <= maxLength) {
+            return str;
+        }
+
+        // never split a surrogate pair
+        int end = maxLength > 0 && Character.isHighSurrogate(str.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+
+        return str.substring(0, end) + CommonKeys.TRUNCATED_MARKER + " (" + str.length() + " total)";
+    }
+
+    /**
+     * Renders the truncation marker in place of the first value the event budget refused, later ones are left out.
+     */
+    private void budgetExhausted(String currentField) {
+        String marker = budget.claimMarker();
+
+        if (marker != null) {
+            processCustomImpl(currentField, marker);
+        }
+    }
+
+    protected String formatField(String currentField, String fieldName) {
+        return currentField.isEmpty() ? fieldName : currentField + "." + fieldName;
+    }
+
+    private Object getLogMessage(Scope scope, Object object) {
+        if (scope == Scope.SUMMARY && object != null && object.getClass().isArray()) {
+            Map<String, Object> summary = PrimitiveArrays.summarize(object, configs.getArraySummaryEdge());
+
+            return summary == null ? object : summary;
+        }
+
+        if (scope == Scope.HASH) {
             try {
                 return configs.getHashProcessor().process(object);
             }
             catch (Throwable t) {
+                exceptionSwallowed();
+
                 return configs.getExceptionTranslator().translate(t);
             }
         }
+
+        if (scope == Scope.TYPE_ONLY) {
+            return object == null ? null : ProxyClasses.unwrap(object.getClass()).getName();
+        }
+
+        // stop types and unloaded proxies are neither sized, nor turned into strings, nor read
+        if (isSingleValue(object) || isGuarded(object)) {
+            return object;
+        }
+
+        if (scope == Scope.SIZE_ONLY) {
+            return sizeOf(object);
+        }
+
+        if (scope == Scope.TO_STRING) {
+            try {
+                return String.valueOf(object);
+            }
+            catch (Throwable t) {
+                exceptionSwallowed();
+
+                return configs.getExceptionTranslator().translate(t);
+            }
+        }
+
+        if (scope == Scope.SHALLOW) {
+            return shallow(object);
+        }
+
         return object;
     }
+
+    private static boolean isSingleValue(Object obj) {
+        return obj == null || obj instanceof String || obj instanceof Enum || Primitives.isWrapperType(obj.getClass());
+    }
+
+    private static Object sizeOf(Object obj) {
+        if (obj instanceof Collection) {
+            return ((Collection) obj).size();
+        }
+
+        if (obj instanceof Map) {
+            return ((Map) obj).size();
+        }
+
+        return obj.getClass().isArray() ? Array.getLength(obj) : obj;
+    }
+
+    /**
+     * Members declared as anything but a single value are left out without being read. Their values are read through
+     * the same guards as {@link #recurseThroughObject(Object, List, String)}, and member scopes that render a single
+     * value are applied, {@link Scope#SHALLOW} never is, so a shallow member can't recurse.
+     *
+     * @return the getters and fields of the object holding single values, in rendering order, the object itself when
+     * it is not rendered through its plan
+     */
+    private Object shallow(Object obj) {
+        RenderPlan plan = configs.findRenderPlan(obj.getClass());
+
+        if (plan == null || obj instanceof Collection || obj instanceof Map || obj.getClass().isArray() ||
+            configs.findCustomMapperFunction(obj.getClass()).isPresent()) {
+            return obj;
+        }
+
+        ClassAccessor accessor = plan.getAccessor();
+
+        SlowGetterBreaker breaker = budget == null || configs.getTimeBudgetNanos() == null ? null : configs.getSlowGetterBreaker();
+
+        FailingGetterCache failureCache = configs.getFailingGetterCache();
+
+        int remaining = configs.getMaxFieldsPerObject() == null ? Integer.MAX_VALUE : configs.getMaxFieldsPerObject();
+
+        Map<String, Object> members = new LinkedHashMap<>();
+
+        for (RenderPlan.Member getter : plan.getGetters()) {
+            if (isSingleValueType(getter.getType())) {
+                if (remaining-- <= 0 || isBudgetExhausted()) {
+                    return members;
+                }
+
+                members.put(getter.getKey(), shallowValue(getter.getScope(), readGetter(obj, accessor, getter, breaker, failureCache)));
+            }
+        }
+
+        for (RenderPlan.Member field : plan.getFields()) {
+            if (isSingleValueType(field.getType())) {
+                if (remaining-- <= 0 || isBudgetExhausted()) {
+                    return members;
+                }
+
+                Object value;
+
+                try {
+                    value = field.isStopped() ? notLogged(field.getType()) : accessor.get(obj, field.getIndex());
+                }
+                catch (Throwable t) {
+                    exceptionSwallowed();
+
+                    value = configs.getExceptionTranslator().translate(t);
+                }
+
+                members.put(field.getName(), shallowValue(field.getScope(), value));
+            }
+        }
+
+        return members;
+    }
+
+    private Object shallowValue(Scope scope, Object value) {
+        return scope == Scope.SHALLOW ? value : getLogMessage(scope, value);
+    }
+
+    private static boolean isSingleValueType(Class<?> type) {
+        return type.isPrimitive() || type == String.class || type.isEnum() || Primitives.isWrapperType(type);
+    }
+
+    private void getterCalled() {
+        if (sample != null) {
+            sample.getterCalled();
+        }
+    }
+
+    /**
+     * Counts a value about to be rendered in the profiler sample and the event budget.
+     *
+     * @return false if the budget refused the value, which must then not be rendered
+     */
+    private boolean valueRendered(String currentField, Object value) {
+        if (sample == null && budget == null) {
+            return true;
+        }
+
+        int chars = (currentField == null ? 0 : currentField.length()) + length(value);
+
+        if (budget != null && !budget.spend(chars)) {
+            budgetExhausted(currentField);
+
+            return false;
+        }
+
+        if (sample != null) {
+            sample.valueRendered(chars);
+        }
+
+        return true;
+    }
+
+    /**
+     * Counts the elements of a primitive array written as is in the profiler sample and the event budget, each as a
+     * node and its characters, like the elements of a collection rendered one by one.
+     *
+     * @return number of leading elements the budget allows
+     */
+    protected int primitiveElementsRendered(Object array) {
+        int length = Array.getLength(array);
+
+        if (sample == null && budget == null) {
+            return length;
+        }
+
+        for (int i = 0; i < length; i++) {
+            int chars = PrimitiveArrays.length(array, i);
+
+            if (budget != null && (!budget.visit() || !budget.spend(chars))) {
+                return i;
+            }
+
+            if (sample != null) {
+                sample.valueRendered(chars);
+            }
+        }
+
+        return length;
+    }
+
+    private void exceptionSwallowed() {
+        if (sample != null) {
+            sample.exceptionSwallowed();
+        }
+    }
+
+    /**
+     * Characters of a rendered value, counted without formatting it so that budgets and profiling don't allocate per
+     * value: whole numbers by their digits, floating point numbers as estimated by
+     * {@link PrimitiveArrays#length(double)} and enums by their name. Only other values, which are rarely rendered as
+     * is, are formatted.
+     */
+    private static int length(Object value) {
+        if (value == null) {
+            return 4;
+        }
+
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return PrimitiveArrays.length(((Number) value).longValue());
+        }
+
+        if (value instanceof Double || value instanceof Float) {
+            return PrimitiveArrays.length(((Number) value).doubleValue());
+        }
+
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 4 : 5;
+        }
+
+        if (value instanceof Character) {
+            return 1;
+        }
+
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name().length();
+        }
+
+        return String.valueOf(value).length();
+    }
 }
@@ -22,40 +22,90 @@
 
 package com.godaddy.logging;
 
+import com.godaddy.logging.accessors.AccessorStrategy;
 import com.godaddy.logging.logger.LoggerImpl;
 import com.godaddy.logging.logger.MarkerAppendingLogger;
 import com.godaddy.logging.messagebuilders.providers.LogstashMessageBuilderProvider;
 import com.godaddy.logging.messagebuilders.providers.StringMessageBuilderProvider;
+import com.godaddy.logging.profiling.RenderCost;
+import com.godaddy.logging.profiling.RenderProfiler;
+import com.godaddy.logging.profiling.VolumeTracker;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.Primitives;
+import com.google.common.reflect.ClassPath;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
+import org.slf4j.event.Level;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
-@Builder
+/**
+ * Configs are immutable apart from custom mappers, which can be registered with {@link #addOverride} while logging
+ * threads use the configs. Mappers and everything derived from them live in one snapshot which is replaced when a
+ * mapper is registered, reading it takes no lock.
+ */
 @Data
+@EqualsAndHashCode(exclude = { "renderPlans", "pendingPlans", "loggers", "stopTypeCache", "callSiteProjections", "projectedPlans", "profileConfigs" })
+@ToString(exclude = { "renderPlans", "pendingPlans", "loggers", "stopTypeCache", "callSiteProjections", "projectedPlans", "profileConfigs" })
 public class LoggingConfigs {
 
-    @Setter
-    @Getter
-    private static LoggingConfigs current = builder().build();
+    private static final AtomicReference<LoggingConfigs> current = new AtomicReference<>(builder().build());
+
+    /** Number of call site projections, and of projections with compiled plans, kept. */
+    private static final int MAX_PROJECTIONS = 1024;
 
     /**
-     * The custom mapper provides the ability to pass in a custom toString function for a specific class.
+     * The custom mappers provide the ability to pass in a custom toString function for a specific class.
      */
-    private final Map<Class<?>, Function<Object, String>> customMapper;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile CustomMappers mappers;
 
     /**
      * The recursiveLevel defines the number of inner class levels to be logged.
@@ -111,8 +161,201 @@ public class LoggingConfigs {
      */
     private final Function<Collection, Collection> collectionFilter;
 
+    /**
+     * Maximum number of map entries logged when the default collection filter is used, by default 50. Custom
+     * collection filters are applied to map keys instead.
+     */
+    private final Integer mapLimit;
+
+    /**
+     * Pool used to render the elements of large collections in parallel. Parallel rendering is off when this is null,
+     * which is the default. Elements are read from several threads at once and must be safe to do so.
+     */
+    private final ForkJoinPool renderPool;
+
+    /**
+     * Minimum number of elements a collection needs to be rendered in parallel, by default 1000.
+     */
+    private final Integer parallelRenderingMinSize;
+
+    /**
+     * Minimum estimated cost, in getters and fields read, a collection needs to be rendered in parallel, by default
+     * 10000. The estimate is the number of elements times the number of members of the first element.
+     */
+    private final Long parallelRenderingMinCost;
+
+    /**
+     * Array types, e.g. double[].class, which are always logged as a summary (length, min, max, mean and first/last
+     * elements) rather than element by element. Applies to numeric primitive arrays. Individual fields can be
+     * summarized with Scope.SUMMARY instead.
+     */
+    private final Set<Class<?>> arraySummaryTypes;
+
+    /**
+     * Number of first and last elements kept in an array summary. By default, 3.
+     */
+    private final Integer arraySummaryEdge;
+
+    /**
+     * Optional profiler recording the render cost of every logged class. Profiling is off when this is null,
+     * which is the default.
+     */
+    private final RenderProfiler renderProfiler;
+
+    /**
+     * Optional tracker of the logger names, levels and message templates producing the most log volume. Tracking is
+     * off when this is null, which is the default.
+     */
+    private final VolumeTracker volumeTracker;
+
+    /**
+     * Classes whose instances never change once built, in addition to the ones annotated with
+     * {@link LoggingImmutable}. Subclasses are included. Their rendered fragments are cached and reused.
+     */
+    private final Set<Class<?>> immutableTypes;
+
+    /**
+     * Maximum number of immutable objects whose rendered fragments are cached, by default 10000.
+     */
+    private final Long renderCacheSize;
+
+    /**
+     * Optional executor render plans are built on. When set, the first event logging an object of a class with no
+     * plan yet queues the plan and renders the object as its class name and toString, later events use the plan.
+     * Plans are built on the logging thread when this is null, which is the default.
+     */
+    private final Executor planCompiler;
+
+    /**
+     * Optional on disk cache of the sorted getters and fields of logged classes, reused across restarts. Off when this
+     * is null, which is the default.
+     */
+    private final AccessorCache accessorCache;
+
+    /**
+     * Strategy getters and fields are read with, by default {@link AccessorStrategy#REFLECT_ASM}.
+     */
+    private final AccessorStrategy accessorStrategy;
+
+    /**
+     * Maximum number of values, objects and collections visited per event, across all of its with values. Unlimited
+     * when this is null, which is the default.
+     */
+    private final Integer maxNodes;
+
+    /**
+     * Maximum number of characters of keys and values rendered per event, across all of its with values. Unlimited
+     * when this is null, which is the default.
+     */
+    private final Long maxOutputChars;
+
+    /**
+     * Maximum length of a string value, longer ones are cut and end with a truncation marker. Unlimited when this is
+     * null, which is the default.
+     */
+    private final Integer maxStringLength;
+
+    /**
+     * Maximum number of getters and fields rendered per object, an object with more gets an extra
+     * {@link CommonKeys#TOTAL_SIZE_KEY} entry holding its number of members. Unlimited when this is null, which is the
+     * default.
+     */
+    private final Integer maxFieldsPerObject;
+
+    /**
+     * Time an event may spend rendering, in nanoseconds. Traversal is cut off once it is used up. Unlimited when this
+     * is null, which is the default.
+     */
+    private final Long timeBudgetNanos;
+
+    /**
+     * Optional breaker recording the getters running when events run out of time, and skipping or downgrading them
+     * after repeated breaches.
+     */
+    private final SlowGetterBreaker slowGetterBreaker;
+
+    /**
+     * Optional negative cache for getters that throw, which stops calling them after repeated failures.
+     */
+    private final FailingGetterCache failingGetterCache;
+
+    /**
+     * Types that are never read, logged as a placeholder instead. Getters and fields declared with one of them, or a
+     * subclass, are not called. By default streams, readers, writers, JDBC connections, threads and class loaders.
+     * Stop types can be added to the defaults.
+     */
+    private final Set<Class<?>> stopTypes;
+
+    /**
+     * Detectors of lazy loading proxies and collections not loaded yet, which are logged as a placeholder instead of
+     * being read. By default a {@link HibernateProxyDetector} when Hibernate is on the class path. Setting detectors
+     * replaces the defaults.
+     */
+    private final List<ProxyDetector> proxyDetectors;
+
+    /**
+     * Property paths logged for instances of a class, by class, see {@link Projection}. Other getters and fields of
+     * the class are never read. Proxies are projected like the class they proxy.
+     */
+    private final Map<Class<?>, Projection> projections;
+
+    /**
+     * Changes applied to these configs to render the events of a level, e.g. a lower recursive level and no
+     * collections at INFO, see {@link #forLevel(Level)}. Events of other levels are rendered with these configs.
+     */
+    private final Map<Level, UnaryOperator<LoggingConfigs>> levelProfiles;
+
+    @Getter(AccessLevel.NONE)
+    private final ConcurrentHashMap<Class<?>, Boolean> stopTypeCache = new ConcurrentHashMap<>();
+
+    /**
+     * Projections passed to {@link Logger#with(Object, String, String...)}, by their paths, so the plans they compile
+     * into are built once per call site. Paths are meant to be constants, paths built per statement only churn the
+     * least recently used projections out of the cache.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Cache<List<String>, Projection> callSiteProjections = CacheBuilder.newBuilder()
+                                                                                    .maximumSize(MAX_PROJECTIONS)
+                                                                                    .build();
+
+    /**
+     * Plans of projected classes, by projection instance. Plans of projections evicted from the call site projections
+     * go with them.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Cache<Projection, ConcurrentHashMap<Class<?>, RenderPlan>> projectedPlans = CacheBuilder.newBuilder()
+                                                                                                         .weakKeys()
+                                                                                                         .maximumSize(MAX_PROJECTIONS)
+                                                                                                         .build();
+
+    /**
+     * Configs of the level profiles, by profile, built on first use. Levels sharing a profile share its configs.
+     */
+    @Getter(AccessLevel.NONE)
+    private final ConcurrentHashMap<UnaryOperator<LoggingConfigs>, LoggingConfigs> profileConfigs = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final ConcurrentHashMap<Class<?>, RenderPlan> renderPlans = new ConcurrentHashMap<>();
+
+    /**
+     * Classes whose plans are queued on the planCompiler.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Set<Class<?>> pendingPlans = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Loggers created with these configs, so repeated getLogger calls return the same instance. Classes are weakly
+     * referenced and do not keep their class loader alive.
+     */
+    @Getter(AccessLevel.NONE)
+    private final LoadingCache<Class<?>, Logger> loggers = CacheBuilder.newBuilder()
+                                                                       .weakKeys()
+                                                                       .build(CacheLoader.from(clazz -> getLogger().apply(clazz, this)));
+
+
+    @Builder(toBuilder = true)
     LoggingConfigs(
-            Map<Class<?>, Function<Object, String>> customMapper,
+            @Builder.ObtainVia(method = "getCustomMapper") Map<Class<?>, Function<Object, String>> customMapper,
             Integer recursiveLevel,
             Set<String> methodPrefixes,
             Set<String> excludesPrefixes,
@@ -120,9 +363,31 @@ public class LoggingConfigs {
             HashProcessor hashProcessor,
             ExceptionTranslator exceptionTranslator,
             BiFunction<Class<?>, LoggingConfigs, Logger> logger,
-            Function<Collection, Collection> collectionFilter) {
-
-        this.customMapper = appendDefaultsToCustomMapper(customMapper);
+            Function<Collection, Collection> collectionFilter,
+            Integer mapLimit,
+            ForkJoinPool renderPool,
+            Integer parallelRenderingMinSize,
+            Long parallelRenderingMinCost,
+            Set<Class<?>> arraySummaryTypes,
+            Integer arraySummaryEdge,
+            RenderProfiler renderProfiler,
+            VolumeTracker volumeTracker,
+            Set<Class<?>> immutableTypes,
+            Long renderCacheSize,
+            Executor planCompiler,
+            AccessorCache accessorCache,
+            AccessorStrategy accessorStrategy,
+            Integer maxNodes,
+            Long maxOutputChars,
+            Integer maxStringLength,
+            Integer maxFieldsPerObject,
+            Long timeBudgetNanos,
+            SlowGetterBreaker slowGetterBreaker,
+            FailingGetterCache failingGetterCache,
+            Set<Class<?>> stopTypes,
+            List<ProxyDetector> proxyDetectors,
+            Map<Class<?>, Projection> projections,
+            Map<Level, UnaryOperator<LoggingConfigs>> levelProfiles) {
 
         this.methodPrefixes = appendDefaults(ImmutableSet.of("get", "is"), methodPrefixes);
 
@@ -136,11 +401,38 @@ public class LoggingConfigs {
         this.messageBuilderFunction = messageBuilderFunction != null ? messageBuilderFunction : new StringMessageBuilderProvider();
         this.hashProcessor = hashProcessor == null ? new Sha256HashProcessor() : hashProcessor;
         this.exceptionTranslator = exceptionTranslator == null ? i -> "<An error occurred logging!>" : exceptionTranslator;
-        this.collectionFilter = collectionFilter == null ? collection -> (Collection) collection.stream().limit(50).collect(toList()) : collectionFilter;
+        this.collectionFilter = collectionFilter == null ? new LimitingCollectionFilter(50) : collectionFilter;
+        this.mapLimit = mapLimit == null ? 50 : mapLimit;
+        this.renderPool = renderPool;
+        this.parallelRenderingMinSize = parallelRenderingMinSize == null ? 1000 : parallelRenderingMinSize;
+        this.parallelRenderingMinCost = parallelRenderingMinCost == null ? 10000L : parallelRenderingMinCost;
+        this.arraySummaryTypes = arraySummaryTypes == null ? ImmutableSet.of() : ImmutableSet.copyOf(arraySummaryTypes);
+        this.arraySummaryEdge = arraySummaryEdge == null ? 3 : arraySummaryEdge;
+        this.renderProfiler = renderProfiler;
+        this.volumeTracker = volumeTracker;
+        this.immutableTypes = immutableTypes == null ? ImmutableSet.of() : ImmutableSet.copyOf(immutableTypes);
+        this.renderCacheSize = renderCacheSize == null ? 10000L : renderCacheSize;
+        this.planCompiler = planCompiler;
+        this.accessorCache = accessorCache;
+        this.accessorStrategy = accessorStrategy == null ? AccessorStrategy.REFLECT_ASM : accessorStrategy;
+        this.maxNodes = maxNodes;
+        this.maxOutputChars = maxOutputChars;
+        this.maxStringLength = maxStringLength;
+        this.maxFieldsPerObject = maxFieldsPerObject;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.slowGetterBreaker = slowGetterBreaker;
+        this.failingGetterCache = failingGetterCache;
+        this.stopTypes = appendDefaults(ImmutableSet.of(InputStream.class, OutputStream.class, Reader.class, Writer.class,
+                                                        Connection.class, Thread.class, ClassLoader.class), stopTypes);
+        this.proxyDetectors = proxyDetectors != null ? ImmutableList.copyOf(proxyDetectors) :
+                              HibernateProxyDetector.isAvailable() ? ImmutableList.of(new HibernateProxyDetector()) :
+                              ImmutableList.of();
+        this.projections = projections == null ? ImmutableMap.of() : ImmutableMap.copyOf(projections);
+        this.levelProfiles = levelProfiles == null ? ImmutableMap.of() : ImmutableMap.copyOf(levelProfiles);
+        this.mappers = new CustomMappers(appendDefaultsToCustomMapper(customMapper), this.renderCacheSize, this.recursiveLevel);
     }
 
     public LoggingConfigs(LoggingConfigs loggingConfigs) {
-        this.customMapper = Maps.newHashMap(loggingConfigs.getCustomMapper());
         this.methodPrefixes = Sets.newHashSet(loggingConfigs.getMethodPrefixes());
         this.excludesPrefixes = Sets.newHashSet(loggingConfigs.getExcludesPrefixes());
         this.recursiveLevel = loggingConfigs.getRecursiveLevel();
@@ -149,6 +441,57 @@ public class LoggingConfigs {
         this.logger = loggingConfigs.getLogger();
         this.exceptionTranslator = loggingConfigs.getExceptionTranslator();
         this.collectionFilter = loggingConfigs.getCollectionFilter();
+        this.mapLimit = loggingConfigs.getMapLimit();
+        this.renderPool = loggingConfigs.getRenderPool();
+        this.parallelRenderingMinSize = loggingConfigs.getParallelRenderingMinSize();
+        this.parallelRenderingMinCost = loggingConfigs.getParallelRenderingMinCost();
+        this.arraySummaryTypes = loggingConfigs.getArraySummaryTypes();
+        this.arraySummaryEdge = loggingConfigs.getArraySummaryEdge();
+        this.renderProfiler = loggingConfigs.getRenderProfiler();
+        this.volumeTracker = loggingConfigs.getVolumeTracker();
+        this.immutableTypes = loggingConfigs.getImmutableTypes();
+        this.renderCacheSize = loggingConfigs.getRenderCacheSize();
+        this.planCompiler = loggingConfigs.getPlanCompiler();
+        this.accessorCache = loggingConfigs.getAccessorCache();
+        this.accessorStrategy = loggingConfigs.getAccessorStrategy();
+        this.maxNodes = loggingConfigs.getMaxNodes();
+        this.maxOutputChars = loggingConfigs.getMaxOutputChars();
+        this.maxStringLength = loggingConfigs.getMaxStringLength();
+        this.maxFieldsPerObject = loggingConfigs.getMaxFieldsPerObject();
+        this.timeBudgetNanos = loggingConfigs.getTimeBudgetNanos();
+        this.slowGetterBreaker = loggingConfigs.getSlowGetterBreaker();
+        this.failingGetterCache = loggingConfigs.getFailingGetterCache();
+        this.stopTypes = loggingConfigs.getStopTypes();
+        this.proxyDetectors = loggingConfigs.getProxyDetectors();
+        this.projections = loggingConfigs.getProjections();
+        this.levelProfiles = loggingConfigs.getLevelProfiles();
+        this.mappers = new CustomMappers(loggingConfigs.getCustomMapper(), renderCacheSize, recursiveLevel);
+    }
+
+    public static LoggingConfigs getCurrent() {
+        return current.get();
+    }
+
+    public static void setCurrent(LoggingConfigs configs) {
+        current.set(configs);
+    }
+
+    /**
+     * Atomically replaces the global configs with the result of the update, which may be called more than once if
+     * another thread replaces them at the same time. Loggers already created keep the configs they were created with.
+     *
+     * @param update function from the current configs to the new ones, typically a chain of with calls
+     * @return the new global configs
+     */
+    public static LoggingConfigs updateCurrent(UnaryOperator<LoggingConfigs> update) {
+        return current.updateAndGet(update);
+    }
+
+    /**
+     * @return the custom mappers, an immutable map from class to its toString function, in registration order
+     */
+    public Map<Class<?>, Function<Object, String>> getCustomMapper() {
+        return mappers.getMappers();
     }
 
     /**
@@ -158,15 +501,7 @@ public class LoggingConfigs {
      * @return logging configuration
      */
     public LoggingConfigs withRecursiveLevel(Integer recursiveLevel) {
-        return new LoggingConfigs(this.getCustomMapper(),
-                                  recursiveLevel,
-                                  this.getMethodPrefixes(),
-                                  this.getExcludesPrefixes(),
-                                  this.getMessageBuilderFunction(),
-                                  this.getHashProcessor(),
-                                  this.getExceptionTranslator(),
-                                  this.logger,
-                                  this.getCollectionFilter());
+        return toBuilder().recursiveLevel(recursiveLevel).build();
     }
 
     /**
@@ -176,51 +511,222 @@ public class LoggingConfigs {
      * @return logging configuration
      */
     public LoggingConfigs withMessageBuilderFunction(MessageBuilderProvider<?> messageBuilderFunction) {
-        return new LoggingConfigs(this.getCustomMapper(),
-                                  this.getRecursiveLevel(),
-                                  this.getMethodPrefixes(),
-                                  this.getExcludesPrefixes(),
-                                  messageBuilderFunction,
-                                  this.getHashProcessor(),
-                                  this.getExceptionTranslator(),
-                                  this.logger,
-                                  this.getCollectionFilter());
+        return toBuilder().messageBuilderFunction(messageBuilderFunction).build();
     }
 
     public LoggingConfigs withLogger(BiFunction<Class<?>, LoggingConfigs, Logger> logger) {
-        return new LoggingConfigs(this.getCustomMapper(),
-                                  this.getRecursiveLevel(),
-                                  this.getMethodPrefixes(),
-                                  this.getExcludesPrefixes(),
-                                  messageBuilderFunction,
-                                  this.getHashProcessor(),
-                                  this.getExceptionTranslator(),
-                                  logger,
-                                  this.getCollectionFilter());
+        return toBuilder().logger(logger).build();
     }
 
     public LoggingConfigs useJson() {
-        return new LoggingConfigs(this.getCustomMapper(),
-                                  this.getRecursiveLevel(),
-                                  this.getMethodPrefixes(),
-                                  this.getExcludesPrefixes(),
-                                  new LogstashMessageBuilderProvider(),
-                                  this.getHashProcessor(),
-                                  this.getExceptionTranslator(),
-                                  (clazz, configs) -> new MarkerAppendingLogger(new Slf4WrapperLogger(org.slf4j.LoggerFactory.getLogger(clazz)), configs),
-                                  this.getCollectionFilter());
+        return toBuilder().messageBuilderFunction(new LogstashMessageBuilderProvider())
+                          .logger((clazz, configs) -> new MarkerAppendingLogger(new Slf4WrapperLogger(org.slf4j.LoggerFactory.getLogger(clazz)), configs))
+                          .build();
     }
 
     public LoggingConfigs withCollectionFilter(Function<Collection, Collection> collectionFilter) {
-        return new LoggingConfigs(this.getCustomMapper(),
-                                  this.getRecursiveLevel(),
-                                  this.getMethodPrefixes(),
-                                  this.getExcludesPrefixes(),
-                                  this.getMessageBuilderFunction(),
-                                  this.getHashProcessor(),
-                                  this.getExceptionTranslator(),
-                                  this.logger,
-                                  collectionFilter);
+        return toBuilder().collectionFilter(collectionFilter).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which logs at most limit elements of collections and arrays.
+     *
+     * @param limit maximum number of elements
+     * @return logging configuration
+     */
+    public LoggingConfigs withCollectionLimit(int limit) {
+        return withCollectionFilter(new LimitingCollectionFilter(limit));
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which logs at most limit entries of maps.
+     *
+     * @param limit maximum number of entries
+     * @return logging configuration
+     */
+    public LoggingConfigs withMapLimit(int limit) {
+        return toBuilder().mapLimit(limit).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which stops rendering an event once it has visited maxNodes values,
+     * objects and collections or rendered maxOutputChars characters, whichever comes first.
+     *
+     * @param maxNodes       maximum number of nodes visited per event
+     * @param maxOutputChars maximum number of characters rendered per event
+     * @return logging configuration
+     */
+    public LoggingConfigs withEventBudget(int maxNodes, long maxOutputChars) {
+        return toBuilder().maxNodes(maxNodes).maxOutputChars(maxOutputChars).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which cuts off rendering an event once it has taken longer than
+     * timeBudget.
+     *
+     * @param timeBudget        time an event may spend rendering
+     * @param slowGetterBreaker breaker to record the getters running when events run out of time in, null to only cut
+     *                          off events
+     * @return logging configuration
+     */
+    public LoggingConfigs withTimeBudget(Duration timeBudget, SlowGetterBreaker slowGetterBreaker) {
+        return toBuilder().timeBudgetNanos(timeBudget.toNanos()).slowGetterBreaker(slowGetterBreaker).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which stops calling getters that keep throwing.
+     *
+     * @param failingGetterCache cache to record the failures of getters in, null to call getters on every event
+     * @return logging configuration
+     */
+    public LoggingConfigs withFailingGetterCache(FailingGetterCache failingGetterCache) {
+        return toBuilder().failingGetterCache(failingGetterCache).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which never reads the given types, in addition to the current ones.
+     *
+     * @param stopTypes types to log as a placeholder
+     * @return logging configuration
+     */
+    public LoggingConfigs withStopTypes(Class<?>... stopTypes) {
+        return toBuilder().stopTypes(ImmutableSet.<Class<?>>builder().addAll(this.stopTypes).add(stopTypes).build()).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which also asks the given detectors whether values are proxies that
+     * have not been loaded.
+     *
+     * @param proxyDetectors detectors to add to the current ones
+     * @return logging configuration
+     */
+    public LoggingConfigs withProxyDetectors(ProxyDetector... proxyDetectors) {
+        return toBuilder().proxyDetectors(ImmutableList.<ProxyDetector>builder().addAll(this.proxyDetectors).add(proxyDetectors).build())
+                          .build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which only logs the given property paths of instances of the class,
+     * e.g. {@code "id", "customer.tier", "lines.size"}. Replaces the projection of the class, if any.
+     *
+     * @param clazz class to project
+     * @param paths property paths, keys separated by dots
+     * @return logging configuration
+     */
+    public LoggingConfigs withProjection(Class<?> clazz, String... paths) {
+        Map<Class<?>, Projection> projections = new LinkedHashMap<>(this.projections);
+
+        projections.put(clazz, Projection.of(Arrays.asList(paths)));
+
+        return toBuilder().projections(projections).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which renders the events of the given levels with the profile
+     * applied, e.g. {@code withLevelProfile(c -> c.withRecursiveLevel(1).withCollectionLimit(0), Level.INFO,
+     * Level.WARN)}. Replaces the profile of the levels, if any. The profile is applied to the configs the events would
+     * otherwise be rendered with, including changes made after this call.
+     *
+     * @param profile changes applied to these configs for the levels
+     * @param levels  levels of the events rendered with the profile
+     * @return logging configuration
+     */
+    public LoggingConfigs withLevelProfile(UnaryOperator<LoggingConfigs> profile, Level... levels) {
+        Map<Level, UnaryOperator<LoggingConfigs>> levelProfiles = new EnumMap<>(Level.class);
+
+        levelProfiles.putAll(this.levelProfiles);
+
+        for (Level level : levels) {
+            levelProfiles.put(level, profile);
+        }
+
+        return toBuilder().levelProfiles(levelProfiles).build();
+    }
+
+    /**
+     * @return the configs events of the level are rendered with, these configs when no profile is set for the level.
+     * Profile configs are built once and keep their own render plans and caches.
+     */
+    public LoggingConfigs forLevel(Level level) {
+        UnaryOperator<LoggingConfigs> profile = level == null || levelProfiles.isEmpty() ? null : levelProfiles.get(level);
+
+        if (profile == null) {
+            return this;
+        }
+
+        return profileConfigs.computeIfAbsent(profile, p -> p.apply(toBuilder().levelProfiles(null).build()));
+    }
+
+    /**
+     * @return the value, wrapped to be rendered with only the given property paths, the value itself if no path is
+     * given
+     */
+    public Object project(Object value, List<String> paths) {
+        if (value == null || paths.isEmpty()) {
+            return value;
+        }
+
+        Projection projection = callSiteProjections.getIfPresent(paths);
+
+        if (projection == null) {
+            projection = callSiteProjections.asMap().computeIfAbsent(ImmutableList.copyOf(paths), Projection::of);
+        }
+
+        return new Projected(value, projection);
+    }
+
+    /**
+     * @return the projection configured for instances of the class, null if they are rendered as a whole
+     */
+    Projection findProjection(Class<?> clazz) {
+        return projections.isEmpty() ? null : projections.get(ProxyClasses.unwrap(clazz));
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which cuts string values longer than maxStringLength.
+     *
+     * @param maxStringLength maximum number of characters per string
+     * @return logging configuration
+     */
+    public LoggingConfigs withMaxStringLength(int maxStringLength) {
+        return toBuilder().maxStringLength(maxStringLength).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which renders at most maxFieldsPerObject getters and fields of
+     * each object.
+     *
+     * @param maxFieldsPerObject maximum number of members per object
+     * @return logging configuration
+     */
+    public LoggingConfigs withMaxFieldsPerObject(int maxFieldsPerObject) {
+        return toBuilder().maxFieldsPerObject(maxFieldsPerObject).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which renders the elements of large collections in parallel.
+     *
+     * @param renderPool pool to render in, its parallelism bounds the threads used by a single log statement. Null
+     *                   turns parallel rendering off.
+     * @param minSize    minimum number of elements
+     * @param minCost    minimum estimated number of getters and fields read
+     * @return logging configuration
+     */
+    public LoggingConfigs withParallelRendering(ForkJoinPool renderPool, int minSize, long minCost) {
+        return toBuilder().renderPool(renderPool)
+                          .parallelRenderingMinSize(minSize)
+                          .parallelRenderingMinCost(minCost)
+                          .build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which logs the given array types as summaries.
+     *
+     * @param arraySummaryTypes array types to summarize, e.g. double[].class
+     * @return logging configuration
+     */
+    public LoggingConfigs withArraySummaryTypes(Class<?>... arraySummaryTypes) {
+        return toBuilder().arraySummaryTypes(ImmutableSet.copyOf(arraySummaryTypes)).build();
     }
 
     /**
@@ -230,15 +736,7 @@ public class LoggingConfigs {
      * @return logging configuration
      */
     public LoggingConfigs withHashProcessor(HashProcessor hashProcessor) {
-        return new LoggingConfigs(this.getCustomMapper(),
-                                  this.getRecursiveLevel(),
-                                  this.getMethodPrefixes(),
-                                  this.getExcludesPrefixes(),
-                                  this.getMessageBuilderFunction(),
-                                  hashProcessor,
-                                  this.getExceptionTranslator(),
-                                  this.logger,
-                                  this.getCollectionFilter());
+        return toBuilder().hashProcessor(hashProcessor).build();
     }
 
     /**
@@ -248,27 +746,83 @@ public class LoggingConfigs {
      * @return logging configuration
      */
     public LoggingConfigs withExceptionTranslator(ExceptionTranslator exceptionTranslator) {
-        return new LoggingConfigs(this.getCustomMapper(),
-                                  this.getRecursiveLevel(),
-                                  this.getMethodPrefixes(),
-                                  this.getExcludesPrefixes(),
-                                  this.getMessageBuilderFunction(),
-                                  this.getHashProcessor(),
-                                  exceptionTranslator,
-                                  this.logger,
-                                  this.getCollectionFilter());
+        return toBuilder().exceptionTranslator(exceptionTranslator).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which records render costs in the given profiler.
+     *
+     * @param renderProfiler profiler to record into, null turns profiling off
+     * @return logging configuration
+     */
+    public LoggingConfigs withRenderProfiler(RenderProfiler renderProfiler) {
+        return toBuilder().renderProfiler(renderProfiler).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which accounts log volume in the given tracker.
+     *
+     * @param volumeTracker tracker to record into, null turns tracking off
+     * @return logging configuration
+     */
+    public LoggingConfigs withVolumeTracker(VolumeTracker volumeTracker) {
+        return toBuilder().volumeTracker(volumeTracker).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which builds render plans in the background.
+     *
+     * @param planCompiler executor to build plans on, null builds them on the logging thread
+     * @return logging configuration
+     */
+    public LoggingConfigs withPlanCompiler(Executor planCompiler) {
+        return toBuilder().planCompiler(planCompiler).build();
     }
 
     /**
-     * Ability to add a custom mapping.
+     * Creates an Immutable copy of Logging Configs which persists the sorted members of logged classes.
+     *
+     * @param directory directory to keep the cache in, null turns the cache off
+     * @return logging configuration
+     */
+    public LoggingConfigs withAccessorCache(Path directory) {
+        return toBuilder().accessorCache(directory == null ? null : new AccessorCache(directory)).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which reads getters and fields with the given strategy.
+     *
+     * @param accessorStrategy strategy to read members with, null restores {@link AccessorStrategy#REFLECT_ASM}
+     * @return logging configuration
+     */
+    public LoggingConfigs withAccessorStrategy(AccessorStrategy accessorStrategy) {
+        return toBuilder().accessorStrategy(accessorStrategy).build();
+    }
+
+    /**
+     * Creates an Immutable copy of Logging Configs which caches the rendered fragments of the given types.
+     *
+     * @param immutableTypes classes whose instances never change once built
+     * @return logging configuration
+     */
+    public LoggingConfigs withImmutableTypes(Class<?>... immutableTypes) {
+        return toBuilder().immutableTypes(ImmutableSet.copyOf(immutableTypes)).build();
+    }
+
+    /**
+     * Ability to add a custom mapping. The mappers are copied on write, loggers already using these configs pick the
+     * mapping up on their next log statement, together with fresh mapper resolutions and render cache.
      *
      * @param clazz  - class to be mapped to a toString function.
      * @param mapper - toString mapping function for the specified clazz.
      * @param <T>    - type of generic class
      * @return logging configuration
      */
-    public <T> LoggingConfigs addOverride(Class<T> clazz, Function<T, String> mapper) {
-        customMapper.put(clazz, (Function<Object, String>) mapper);
+    public synchronized <T> LoggingConfigs addOverride(Class<T> clazz, Function<T, String> mapper) {
+        mappers = mappers.with(clazz, (Function<Object, String>) mapper);
+
+        // level profiles copied the previous mappers, they are built again from these on their next event
+        profileConfigs.clear();
 
         return this;
     }
@@ -279,13 +833,11 @@ public class LoggingConfigs {
      */
     @Deprecated
     public <T> LoggingConfigs withOverride(Class<T> clazz, Function<T, String> mapper) {
-        customMapper.put(clazz, (Function<Object, String>) mapper);
-
-        return this;
+        return addOverride(clazz, mapper);
     }
 
     private Map<Class<?>, Function<Object, String>> appendDefaultsToCustomMapper(Map<Class<?>, Function<Object, String>> customMapper) {
-        Map<Class<?>, Function<Object, String>> defaultMapper = new HashMap<Class<?>, Function<Object, String>>() {{
+        Map<Class<?>, Function<Object, String>> defaultMapper = new LinkedHashMap<Class<?>, Function<Object, String>>() {{
             put(UUID.class, Object::toString);
         }};
 
@@ -298,15 +850,372 @@ public class LoggingConfigs {
         return defaultMapper;
     }
 
-    private ImmutableSet<String> appendDefaults(ImmutableSet<String> defaults, Set<String> configs) {
-        return configs == null ? defaults : new ImmutableSet.Builder<String>().addAll(defaults).addAll(configs).build();
+    /**
+     * Resolves how instances of a class are rendered with these configs: the getters and fields invoked, in order,
+     * with their Scope, the custom mappers that apply, nested objects down to the recursive level and, when a
+     * RenderProfiler is configured, the measured render cost.
+     *
+     * @param clazz class to explain
+     * @return render explanation, its toString is a readable tree
+     */
+    public RenderExplanation explain(Class<?> clazz) {
+        return explain(clazz, new int[] { 0 });
+    }
+
+    /**
+     * @param renderedObjects number of objects rendered so far, compared against the recursive level the same way
+     *                        LoggerMessageBuilder compares it
+     */
+    private RenderExplanation explain(Class<?> clazz, int[] renderedObjects) {
+        RenderCost measuredCost = renderProfiler == null ? null : renderProfiler.getClassCost(clazz).orElse(null);
+
+        Optional<Class<?>> mapper = findCustomMapper(clazz);
+
+        if (mapper.isPresent()) {
+            return new RenderExplanation(clazz, mapper.get(), Collections.emptyList(), measuredCost);
+        }
+
+        renderedObjects[0]++;
+
+        RenderPlan plan = getRenderPlan(clazz);
+
+        List<RenderExplanation.Member> members = new ArrayList<>();
+
+        for (RenderPlan.Member getter : plan.getGetters()) {
+            members.add(explain(getter, getter.getName() + "()", renderedObjects));
+        }
+
+        for (RenderPlan.Member field : plan.getFields()) {
+            members.add(explain(field, field.getName(), renderedObjects));
+        }
+
+        return new RenderExplanation(clazz, null, members, measuredCost);
+    }
+
+    private RenderExplanation.Member explain(RenderPlan.Member member, String source, int[] renderedObjects) {
+        Class<?> type = Primitives.wrap(member.getType());
+
+        RenderExplanation.Rendering rendering;
+
+        RenderExplanation nested = null;
+
+        if (renderedObjects[0] > recursiveLevel) {
+            rendering = RenderExplanation.Rendering.CUT;
+        }
+        else if (member.isStopped()) {
+            rendering = RenderExplanation.Rendering.STOPPED;
+        }
+        else if (member.getScope() == Scope.HASH) {
+            rendering = RenderExplanation.Rendering.HASHED;
+        }
+        else if (member.getScope() == Scope.TYPE_ONLY) {
+            rendering = RenderExplanation.Rendering.TYPE;
+        }
+        else if (type.isArray() && (member.getScope() == Scope.SUMMARY || arraySummaryTypes.contains(type)) &&
+                 PrimitiveArrays.summarize(Array.newInstance(type.getComponentType(), 0), 0) != null) {
+            rendering = RenderExplanation.Rendering.SUMMARY;
+        }
+        else if (findCustomMapper(type).isPresent()) {
+            rendering = RenderExplanation.Rendering.CUSTOM;
+        }
+        else if (String.class == type || Primitives.isWrapperType(type) || type.isEnum()) {
+            rendering = RenderExplanation.Rendering.VALUE;
+        }
+        else if (member.getScope() == Scope.TO_STRING) {
+            rendering = RenderExplanation.Rendering.TO_STRING;
+        }
+        else if (member.getScope() == Scope.SIZE_ONLY &&
+                 (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type) || type.isArray())) {
+            rendering = RenderExplanation.Rendering.SIZE;
+        }
+        else if (Collection.class.isAssignableFrom(type)) {
+            rendering = RenderExplanation.Rendering.COLLECTION;
+        }
+        else if (type.isArray()) {
+            rendering = RenderExplanation.Rendering.ARRAY;
+        }
+        else if (Map.class.isAssignableFrom(type)) {
+            rendering = RenderExplanation.Rendering.MAP;
+        }
+        else if (member.getScope() == Scope.SHALLOW) {
+            rendering = RenderExplanation.Rendering.SHALLOW;
+        }
+        else {
+            rendering = RenderExplanation.Rendering.OBJECT;
+
+            try {
+                nested = explain(type, renderedObjects);
+            }
+            catch (RuntimeException e) {
+                // declared types such as interfaces can't always be planned, the runtime class will be
+            }
+        }
+
+        return new RenderExplanation.Member(member.getKey(), source, member.getScope(), member.getType(), rendering, nested);
+    }
+
+    /**
+     * Builds render plans ahead of the first log statement, which otherwise pays for ReflectASM accessor generation,
+     * bean introspection and LoggingScope lookups. The classes of the members of each class are planned as well, down
+     * to the recursive level. Classes are planned in parallel on the render pool, or the common pool when there is none.
+     *
+     * @param classes classes to plan
+     * @return the classes planned, the ones that failed and the time taken
+     */
+    public PrecompileReport precompile(Class<?>... classes) {
+        return precompile(System.nanoTime(), Arrays.asList(classes), new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Same as {@link #precompile(Class[])} for the top level classes found in the given packages and their
+     * subpackages, on the class path of the context class loader.
+     *
+     * @param packageNames packages to scan, e.g. "com.example.dto"
+     * @return the classes planned, the ones that failed and the time taken
+     */
+    public PrecompileReport precompile(String... packageNames) {
+        long start = System.nanoTime();
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader() != null ?
+                                  Thread.currentThread().getContextClassLoader() : LoggingConfigs.class.getClassLoader();
+
+        List<Class<?>> classes = new ArrayList<>();
+
+        Map<String, Throwable> failed = new ConcurrentHashMap<>();
+
+        try {
+            ClassPath classPath = ClassPath.from(classLoader);
+
+            for (String packageName : packageNames) {
+                for (ClassPath.ClassInfo classInfo : classPath.getTopLevelClassesRecursive(packageName)) {
+                    try {
+                        classes.add(classInfo.load());
+                    }
+                    catch (LinkageError e) {
+                        failed.put(classInfo.getName(), e);
+                    }
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return precompile(start, classes, failed);
+    }
+
+    private PrecompileReport precompile(long start, Collection<Class<?>> classes, Map<String, Throwable> failed) {
+        ForkJoinPool pool = renderPool != null ? renderPool : ForkJoinPool.commonPool();
+
+        Set<Class<?>> compiled = ConcurrentHashMap.newKeySet();
+
+        Set<Class<?>> visited = ConcurrentHashMap.newKeySet();
+
+        List<Class<?>> level = classes.stream().filter(this::isPlannable).filter(visited::add).collect(toList());
+
+        try {
+            for (int depth = 0; depth <= recursiveLevel && !level.isEmpty(); depth++) {
+                List<Class<?>> current = level;
+
+                level = pool.submit(() -> current.parallelStream()
+                                                 .flatMap(clazz -> precompile(clazz, compiled, failed))
+                                                 .filter(visited::add)
+                                                 .collect(toList()))
+                            .get();
+            }
+        }
+        catch (InterruptedException e) {
+            // report what was planned so far
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+
+            throw new IllegalStateException(e.getCause());
+        }
+
+        return new PrecompileReport(ImmutableSet.copyOf(compiled), ImmutableMap.copyOf(failed), System.nanoTime() - start);
+    }
+
+    /**
+     * @return the classes of the members of the class which are rendered as objects
+     */
+    private Stream<Class<?>> precompile(Class<?> clazz, Set<Class<?>> compiled, Map<String, Throwable> failed) {
+        try {
+            RenderPlan plan = getRenderPlan(clazz);
+
+            compiled.add(clazz);
+
+            return Stream.concat(plan.getGetters().stream(), plan.getFields().stream())
+                         .<Class<?>>map(RenderPlan.Member::getType)
+                         .filter(this::isPlannable);
+        }
+        catch (RuntimeException | LinkageError e) {
+            failed.put(clazz.getName(), e);
+
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * @return whether instances of the class are rendered member by member with a render plan
+     */
+    private boolean isPlannable(Class<?> clazz) {
+        return !clazz.isPrimitive() && !clazz.isArray() && !clazz.isInterface() && !clazz.isEnum() &&
+               !Primitives.isWrapperType(clazz) && String.class != clazz &&
+               !Collection.class.isAssignableFrom(clazz) && !Map.class.isAssignableFrom(clazz) &&
+               !findCustomMapper(clazz).isPresent();
+    }
+
+    /**
+     * @return the plan used to render instances of a class, null if it is not built yet and has been queued on the
+     * planCompiler
+     */
+    RenderPlan findRenderPlan(Class<?> clazz) {
+        RenderPlan plan = renderPlans.get(clazz);
+
+        if (plan != null || planCompiler == null) {
+            return plan != null ? plan : getRenderPlan(clazz);
+        }
+
+        if (pendingPlans.add(clazz)) {
+            try {
+                planCompiler.execute(() -> {
+                    try {
+                        getRenderPlan(clazz);
+                    }
+                    finally {
+                        pendingPlans.remove(clazz);
+                    }
+                });
+            }
+            catch (RejectedExecutionException e) {
+                pendingPlans.remove(clazz);
+
+                return getRenderPlan(clazz);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the plan used to render instances of a class with these configs, built on first use. Proxy classes share
+     * the plan of the class they proxy, see {@link ProxyClasses}.
+     */
+    RenderPlan getRenderPlan(Class<?> clazz) {
+        RenderPlan plan = renderPlans.get(clazz);
+
+        if (plan != null) {
+            return plan;
+        }
+
+        Class<?> planned = ProxyClasses.unwrap(clazz);
+
+        if (planned != clazz) {
+            plan = getRenderPlan(planned);
+
+            RenderPlan previous = renderPlans.putIfAbsent(clazz, plan);
+
+            return previous != null ? previous : plan;
+        }
+
+        return renderPlans.computeIfAbsent(clazz, c -> new RenderPlan(c, this));
+    }
+
+    /**
+     * @return the plan used to render instances of a class with the projection, built on first use
+     */
+    RenderPlan getRenderPlan(Class<?> clazz, Projection projection) {
+        return projectedPlans.asMap().computeIfAbsent(projection, p -> new ConcurrentHashMap<>())
+                             .computeIfAbsent(clazz, c -> new RenderPlan(getRenderPlan(c), projection));
+    }
+
+    /**
+     * @return whether instances of the class are immutable, either annotated with {@link LoggingImmutable} or
+     * assignable to one of the immutableTypes
+     */
+    public boolean isImmutable(Class<?> clazz) {
+        return getRenderPlan(clazz).isImmutable();
+    }
+
+    /**
+     * @return whether the class is, or extends, one of the stopTypes
+     */
+    public boolean isStopType(Class<?> clazz) {
+        if (clazz.isPrimitive()) {
+            return false;
+        }
+
+        Boolean stopType = stopTypeCache.get(clazz);
+
+        if (stopType == null) {
+            stopType = stopTypes.stream().anyMatch(type -> type.isAssignableFrom(clazz));
+
+            stopTypeCache.put(clazz, stopType);
+        }
+
+        return stopType;
+    }
+
+    /**
+     * @return whether one of the proxyDetectors recognizes the value as a proxy or collection that has not been loaded
+     */
+    public boolean isUninitialized(Object value) {
+        for (ProxyDetector detector : proxyDetectors) {
+            if (detector.isUninitialized(value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the rendered fragments of immutable objects logged with these configs
+     */
+    public RenderCache getRenderCache() {
+        return mappers.getRenderCache();
+    }
+
+    /**
+     * @return the class whose custom mapper is applied to instances of the given class, if any
+     */
+    public Optional<Class<?>> findCustomMapper(Class<?> clazz) {
+        return mappers.find(clazz);
+    }
+
+    /**
+     * @return the custom mapper applied to instances of the given class, if any
+     */
+    public Optional<Function<Object, String>> findCustomMapperFunction(Class<?> clazz) {
+        return mappers.findFunction(clazz);
+    }
+
+    private <T> ImmutableSet<T> appendDefaults(ImmutableSet<T> defaults, Set<T> configs) {
+        return configs == null ? defaults : new ImmutableSet.Builder<T>().addAll(defaults).addAll(configs).build();
     }
 
     public Logger getDefaultLogger(Class<?> clazz) {
         return getConfiguredLogger(clazz, LoggingConfigs.getCurrent());
     }
 
+    /**
+     * Loggers for these configs are created once per class and cached, loggers for other configs are created on
+     * every call.
+     */
     public Logger getConfiguredLogger(Class<?> clazz, LoggingConfigs configs) {
-        return logger.apply(clazz, configs);
+        if (configs != this) {
+            return logger.apply(clazz, configs);
+        }
+
+        try {
+            return loggers.getUnchecked(clazz);
+        }
+        catch (UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+
+            throw e;
+        }
     }
 }
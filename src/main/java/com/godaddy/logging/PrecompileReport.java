@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import lombok.Value;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of {@link LoggingConfigs#precompile}.
+ */
+@Value
+public class PrecompileReport {
+    /** Classes whose render plans were built, including the classes of their members. */
+    Set<Class<?>> compiled;
+
+    /** Classes which could not be loaded or planned, by name, with the error. */
+    Map<String, Throwable> failed;
+
+    /** Wall clock time taken, including class path scanning. */
+    long elapsedNanos;
+
+    @Override
+    public String toString() {
+        return "Precompiled " + compiled.size() + " classes in " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms" +
+               (failed.isEmpty() ? "" : ", " + failed.size() + " failed: " + failed.keySet());
+    }
+}
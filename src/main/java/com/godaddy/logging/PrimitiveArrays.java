@@ -0,0 +1,318 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders arrays of primitives without boxing their elements. char arrays are not handled here, their elements are
+ * rendered as individual characters like any other array.
+ */
+public final class PrimitiveArrays {
+    private PrimitiveArrays() {
+    }
+
+    public static boolean isPrimitiveArray(Object obj) {
+        Class<?> componentType = obj.getClass().getComponentType();
+
+        return componentType != null && componentType.isPrimitive() && componentType != char.class;
+    }
+
+    /**
+     * Copies the first limit elements of a primitive array. byte arrays are widened to int arrays so that they are
+     * serialized as numbers rather than base64.
+     */
+    public static Object truncate(Object array, int limit) {
+        if (array instanceof int[]) {
+            int[] values = (int[]) array;
+            return Arrays.copyOf(values, Math.min(values.length, limit));
+        }
+        if (array instanceof long[]) {
+            long[] values = (long[]) array;
+            return Arrays.copyOf(values, Math.min(values.length, limit));
+        }
+        if (array instanceof double[]) {
+            double[] values = (double[]) array;
+            return Arrays.copyOf(values, Math.min(values.length, limit));
+        }
+        if (array instanceof float[]) {
+            float[] values = (float[]) array;
+            return Arrays.copyOf(values, Math.min(values.length, limit));
+        }
+        if (array instanceof short[]) {
+            short[] values = (short[]) array;
+            return Arrays.copyOf(values, Math.min(values.length, limit));
+        }
+        if (array instanceof boolean[]) {
+            boolean[] values = (boolean[]) array;
+            return Arrays.copyOf(values, Math.min(values.length, limit));
+        }
+        if (array instanceof byte[]) {
+            byte[] values = (byte[]) array;
+            int[] widened = new int[Math.min(values.length, limit)];
+            for (int i = 0; i < widened.length; i++) {
+                widened[i] = values[i];
+            }
+            return widened;
+        }
+
+        throw new IllegalArgumentException("Not an array of primitives: " + array.getClass());
+    }
+
+    /**
+     * @return the characters the element at the index renders to, without formatting it, see {@link #length(double)}
+     * for the estimate of floating point elements
+     */
+    public static int length(Object array, int index) {
+        if (array instanceof int[]) {
+            return length(((int[]) array)[index]);
+        }
+        if (array instanceof long[]) {
+            return length(((long[]) array)[index]);
+        }
+        if (array instanceof double[]) {
+            return length(((double[]) array)[index]);
+        }
+        if (array instanceof float[]) {
+            return length(((float[]) array)[index]);
+        }
+        if (array instanceof short[]) {
+            return length(((short[]) array)[index]);
+        }
+        if (array instanceof boolean[]) {
+            return ((boolean[]) array)[index] ? 4 : 5;
+        }
+        if (array instanceof byte[]) {
+            return length(((byte[]) array)[index]);
+        }
+
+        throw new IllegalArgumentException("Not an array of primitives: " + array.getClass());
+    }
+
+    /**
+     * @return the number of characters of the decimal value, sign included
+     */
+    public static int length(long value) {
+        if (value == Long.MIN_VALUE) {
+            return 20;
+        }
+
+        int length = value < 0 ? 2 : 1;
+
+        for (long rest = Math.abs(value); rest >= 10; rest /= 10) {
+            length++;
+        }
+
+        return length;
+    }
+
+    /**
+     * Estimates the characters of a floating point value without formatting it. Whole values in plain notation are
+     * counted exactly, as their digits and ".0", other values as the 17 significant digits a double may take plus
+     * their sign, point and a short exponent.
+     */
+    public static int length(double value) {
+        if (Double.isNaN(value)) {
+            return 3;
+        }
+
+        if (Double.isInfinite(value)) {
+            return value > 0 ? 8 : 9;
+        }
+
+        if (value == Math.rint(value) && Math.abs(value) < 1e7) {
+            return length((long) value) + 2;
+        }
+
+        return (value < 0 ? 1 : 0) + 22;
+    }
+
+    /**
+     * Summarizes a numeric primitive array as its length, min, max, mean and its first and last edge elements.
+     *
+     * @return the summary, or null if the array is not a numeric primitive array
+     */
+    public static Map<String, Object> summarize(Object array, int edge) {
+        if (array instanceof double[]) {
+            double[] values = (double[]) array;
+
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY, sum = 0;
+
+            for (double value : values) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sum += value;
+            }
+
+            return summary(values.length, min, max, sum, Arrays.copyOf(values, Math.min(values.length, edge)),
+                           Arrays.copyOfRange(values, Math.max(0, values.length - edge), values.length));
+        }
+        if (array instanceof float[]) {
+            float[] values = (float[]) array;
+
+            float min = Float.POSITIVE_INFINITY, max = Float.NEGATIVE_INFINITY;
+
+            double sum = 0;
+
+            for (float value : values) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sum += value;
+            }
+
+            return summary(values.length, min, max, sum, Arrays.copyOf(values, Math.min(values.length, edge)),
+                           Arrays.copyOfRange(values, Math.max(0, values.length - edge), values.length));
+        }
+        if (array instanceof long[]) {
+            long[] values = (long[]) array;
+
+            long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+
+            double sum = 0;
+
+            for (long value : values) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sum += value;
+            }
+
+            return summary(values.length, min, max, sum, Arrays.copyOf(values, Math.min(values.length, edge)),
+                           Arrays.copyOfRange(values, Math.max(0, values.length - edge), values.length));
+        }
+        if (array instanceof int[] || array instanceof short[] || array instanceof byte[]) {
+            int[] values = (int[]) (array instanceof int[] ? array : truncate(array, Integer.MAX_VALUE));
+
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+
+            double sum = 0;
+
+            for (int value : values) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sum += value;
+            }
+
+            return summary(values.length, min, max, sum, Arrays.copyOf(values, Math.min(values.length, edge)),
+                           Arrays.copyOfRange(values, Math.max(0, values.length - edge), values.length));
+        }
+
+        return null;
+    }
+
+    private static Map<String, Object> summary(int length, Object min, Object max, double sum, Object first, Object last) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+
+        summary.put("length", length);
+
+        if (length > 0) {
+            summary.put("min", min);
+            summary.put("max", max);
+            summary.put("mean", sum / length);
+        }
+
+        // edges are boxed so that they are never summarized again
+        summary.put("first", boxed(first));
+        summary.put("last", boxed(last));
+
+        return summary;
+    }
+
+    private static List<Object> boxed(Object array) {
+        List<Object> values = new ArrayList<>(Array.getLength(array));
+
+        for (int i = 0; i < Array.getLength(array); i++) {
+            values.add(Array.get(array, i));
+        }
+
+        return values;
+    }
+
+    /**
+     * Appends the elements of a primitive array in the same format as {@link java.util.List#toString()}.
+     */
+    public static StringBuilder appendTo(StringBuilder builder, Object array) {
+        builder.append('[');
+
+        if (array instanceof int[]) {
+            int[] values = (int[]) array;
+            for (int i = 0; i < values.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(values[i]);
+            }
+        }
+        else if (array instanceof long[]) {
+            long[] values = (long[]) array;
+            for (int i = 0; i < values.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(values[i]);
+            }
+        }
+        else if (array instanceof double[]) {
+            double[] values = (double[]) array;
+            for (int i = 0; i < values.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(values[i]);
+            }
+        }
+        else if (array instanceof float[]) {
+            float[] values = (float[]) array;
+            for (int i = 0; i < values.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(values[i]);
+            }
+        }
+        else if (array instanceof short[]) {
+            short[] values = (short[]) array;
+            for (int i = 0; i < values.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(values[i]);
+            }
+        }
+        else if (array instanceof boolean[]) {
+            boolean[] values = (boolean[]) array;
+            for (int i = 0; i < values.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(values[i]);
+            }
+        }
+        else if (array instanceof byte[]) {
+            byte[] values = (byte[]) array;
+            for (int i = 0; i < values.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(values[i]);
+            }
+        }
+        else if (array instanceof char[]) {
+            char[] values = (char[]) array;
+            for (int i = 0; i < values.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(values[i]);
+            }
+        }
+        else {
+            Object[] values = (Object[]) array;
+            for (int i = 0; i < values.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(values[i]);
+            }
+        }
+
+        return builder.append(']');
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import com.google.common.base.Splitter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tree of the property paths logged for an object, e.g. {@code id}, {@code customer.tier} and {@code lines.size}.
+ * Only the getters and fields of the object a projection includes are read, the projection of a member then applies
+ * to the member's value, or to its elements when it is a collection, map or array. A member whose path ends at the
+ * member is rendered as a whole. Collections, maps and arrays whose projection includes {@link #SIZE} are logged as
+ * their size, their elements are not read.
+ *
+ * Projections compile into render plans per class, which are cached against the projection instance.
+ */
+public final class Projection {
+    /** Pseudo member of collections, maps and arrays logging their size. */
+    public static final String SIZE = "size";
+
+    private final Map<String, Projection> children = new LinkedHashMap<>();
+
+    /** Whether a path ends at this member, which is then rendered as a whole. */
+    private boolean whole;
+
+    private Projection() {
+    }
+
+    /**
+     * @param paths property paths, keys separated by dots
+     */
+    public static Projection of(Iterable<String> paths) {
+        Projection root = new Projection();
+
+        for (String path : paths) {
+            Projection node = root;
+
+            for (String key : Splitter.on('.').omitEmptyStrings().trimResults().split(path)) {
+                node = node.children.computeIfAbsent(key, k -> new Projection());
+            }
+
+            node.whole = node != root;
+        }
+
+        return root;
+    }
+
+    /**
+     * @return whether the member with the given key is logged
+     */
+    public boolean includes(String key) {
+        return children.containsKey(key);
+    }
+
+    /**
+     * @return the projection of the member's value, null when the member is rendered as a whole or not logged at all
+     */
+    public Projection child(String key) {
+        Projection child = children.get(key);
+
+        return child == null || child.whole ? null : child;
+    }
+
+    /**
+     * @return whether collections, maps and arrays projected with this projection are logged as their size
+     */
+    public boolean isSize() {
+        return includes(SIZE);
+    }
+
+    @Override public String toString() {
+        return whole ? "*" : children.toString();
+    }
+}
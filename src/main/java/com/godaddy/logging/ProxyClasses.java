@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Resolves proxy and generated classes to the class their instances are logged as. Subclasses generated by CGLIB,
+ * ByteBuddy, Javassist or Hibernate resolve to the nearest superclass that is not generated, JDK proxies to the first
+ * interface they implement that is not proxy infrastructure. All proxies of a type then share the type's render plan
+ * and accessors and are logged under its name, and proxy internals such as {@code CGLIB$CALLBACK_0} fields are never
+ * rendered.
+ */
+public final class ProxyClasses {
+    private static final String[] GENERATED_CLASS_MARKERS = { "$$", "$ByteBuddy$", "$HibernateProxy$", "$MockitoMock$" };
+
+    private static final String[] PROXY_INFRASTRUCTURE_PACKAGES = { "org.springframework.aop.", "org.springframework.core." };
+
+    private static final ClassValue<Class<?>> RESOLVED = new ClassValue<Class<?>>() {
+        @Override protected Class<?> computeValue(Class<?> clazz) {
+            return resolve(clazz);
+        }
+    };
+
+    private ProxyClasses() { }
+
+    /**
+     * @return the class instances of the given class are logged as, the class itself when it is not generated
+     */
+    public static Class<?> unwrap(Class<?> clazz) {
+        return RESOLVED.get(clazz);
+    }
+
+    private static Class<?> resolve(Class<?> clazz) {
+        if (Proxy.isProxyClass(clazz)) {
+            for (Class<?> type : clazz.getInterfaces()) {
+                if (!isProxyInfrastructure(type)) {
+                    return type;
+                }
+            }
+
+            return clazz;
+        }
+
+        Class<?> resolved = clazz;
+
+        // lambdas and other generated classes extending Object have nothing better to be logged as
+        while (isGenerated(resolved) && resolved.getSuperclass() != null && resolved.getSuperclass() != Object.class) {
+            resolved = resolved.getSuperclass();
+        }
+
+        return resolved;
+    }
+
+    private static boolean isGenerated(Class<?> clazz) {
+        for (String marker : GENERATED_CLASS_MARKERS) {
+            if (clazz.getName().contains(marker)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isProxyInfrastructure(Class<?> type) {
+        for (String infrastructurePackage : PROXY_INFRASTRUCTURE_PACKAGES) {
+            if (type.getName().startsWith(infrastructurePackage)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * What is left of the {@link LoggingConfigs#getMaxNodes()}, {@link LoggingConfigs#getMaxOutputChars()} and
+ * {@link LoggingConfigs#getTimeBudgetNanos()} budgets of one event. Shared by the builders of every value the event
+ * logs, including the ones rendering elements in parallel. Once any budget is used up nothing more is visited, the
+ * first value refused is rendered as a truncation marker and the rest of the event is left out.
+ */
+public class RenderBudget {
+    private final int maxNodes;
+
+    private final long maxOutputChars;
+
+    /** {@link System#nanoTime()} past which the event is out of time, Long.MAX_VALUE without a time budget. */
+    private final long deadline;
+
+    private final AtomicInteger nodes = new AtomicInteger();
+
+    private final AtomicLong chars = new AtomicLong();
+
+    private final AtomicBoolean markerRendered = new AtomicBoolean();
+
+    private volatile String exhaustedBy;
+
+    RenderBudget(int maxNodes, long maxOutputChars, Long timeBudgetNanos) {
+        this.maxNodes = maxNodes;
+        this.maxOutputChars = maxOutputChars;
+        this.deadline = timeBudgetNanos == null ? Long.MAX_VALUE : System.nanoTime() + timeBudgetNanos;
+    }
+
+    /**
+     * @return a new budget for an event, null if the configs set no per event budget. With a
+     * {@link LoggingConfigs#getVolumeTracker()} an unlimited budget counts the characters of the event instead, so the
+     * size of events logged as markers is known without formatting them again.
+     */
+    public static RenderBudget of(LoggingConfigs configs) {
+        if (configs.getMaxNodes() == null && configs.getMaxOutputChars() == null && configs.getTimeBudgetNanos() == null &&
+            configs.getVolumeTracker() == null) {
+            return null;
+        }
+
+        return new RenderBudget(configs.getMaxNodes() == null ? Integer.MAX_VALUE : configs.getMaxNodes(),
+                                configs.getMaxOutputChars() == null ? Long.MAX_VALUE : configs.getMaxOutputChars(),
+                                configs.getTimeBudgetNanos());
+    }
+
+    /**
+     * Counts a node about to be visited.
+     *
+     * @return false if the node is over budget and must not be visited
+     */
+    public boolean visit() {
+        if (exhaustedBy != null || isOutOfTime()) {
+            return false;
+        }
+
+        if (nodes.incrementAndGet() > maxNodes) {
+            exhaustedBy = "maxNodes";
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Counts the characters of a value about to be rendered.
+     *
+     * @return false if the value is over budget and must not be rendered
+     */
+    public boolean spend(int valueChars) {
+        if (exhaustedBy != null) {
+            return false;
+        }
+
+        if (chars.addAndGet(valueChars) > maxOutputChars) {
+            exhaustedBy = "maxOutputChars";
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return whether a cached fragment costing the given nodes and characters can be reused without going over budget
+     */
+    public boolean fits(int fragmentNodes, long fragmentChars) {
+        return exhaustedBy == null &&
+               nodes.get() + (long) fragmentNodes <= maxNodes &&
+               chars.get() + fragmentChars <= maxOutputChars;
+    }
+
+    /**
+     * Counts a reused fragment, see {@link #fits(int, long)}.
+     */
+    public void charge(int fragmentNodes, long fragmentChars) {
+        nodes.addAndGet(fragmentNodes);
+        chars.addAndGet(fragmentChars);
+    }
+
+    public boolean isExhausted() {
+        return exhaustedBy != null;
+    }
+
+    /**
+     * Checks the clock, running out of time exhausts the budget.
+     *
+     * @return whether the event is out of time
+     */
+    public boolean isOutOfTime() {
+        if (deadline == Long.MAX_VALUE || System.nanoTime() - deadline <= 0) {
+            return false;
+        }
+
+        if (exhaustedBy == null) {
+            exhaustedBy = "timeBudget";
+        }
+
+        return true;
+    }
+
+    public int getNodes() {
+        return nodes.get();
+    }
+
+    public long getChars() {
+        return chars.get();
+    }
+
+    /**
+     * @return the marker to render in place of the first value refused, null for every later one
+     */
+    public String claimMarker() {
+        if (exhaustedBy == null || !markerRendered.compareAndSet(false, true)) {
+            return null;
+        }
+
+        return CommonKeys.TRUNCATED_MARKER + " (" + exhaustedBy + " reached)";
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Value;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Rendered fragments of immutable objects, see {@link LoggingImmutable}. Objects are weakly referenced and compared by
+ * identity, so a cached fragment never outlives its object nor is reused for an equal but distinct one. What an
+ * object renders to depends on the recursive level it is reached at, one fragment is kept per level.
+ */
+public class RenderCache {
+    private final Cache<Object, AtomicReferenceArray<Fragment>> fragments;
+
+    private final int levels;
+
+    RenderCache(long maximumSize, int recursiveLevel) {
+        this.fragments = CacheBuilder.newBuilder()
+                                     .weakKeys()
+                                     .maximumSize(maximumSize)
+                                     .build();
+        this.levels = recursiveLevel + 1;
+    }
+
+    /**
+     * @return the fragment rendered for the object at the given recursive level, null if there is none
+     */
+    public Fragment get(Object obj, int level) {
+        AtomicReferenceArray<Fragment> byLevel = level < levels ? fragments.getIfPresent(obj) : null;
+
+        return byLevel == null ? null : byLevel.get(level);
+    }
+
+    public void put(Object obj, int level, Fragment fragment) {
+        if (level >= levels) {
+            return;
+        }
+
+        AtomicReferenceArray<Fragment> byLevel = fragments.asMap().computeIfAbsent(obj, o -> new AtomicReferenceArray<>(levels));
+
+        byLevel.set(level, fragment);
+    }
+
+    /**
+     * @return number of objects with cached fragments, objects already collected are cleaned up first
+     */
+    public long size() {
+        fragments.cleanUp();
+
+        return fragments.size();
+    }
+
+    public void invalidateAll() {
+        fragments.invalidateAll();
+    }
+
+    @Value
+    public static class Fragment {
+        /** The rendered object, a read only view shared by every log statement it is reused in. */
+        Object rendered;
+
+        /** Number of objects rendered, which the recursive level advances by. */
+        int renderedObjects;
+
+        /**
+         * Objects marked as processed below the object while rendering, in order. The object itself is left out and the
+         * others are weakly referenced, so the fragment never keeps its own key alive.
+         */
+        List<WeakReference<Object>> processedObjects;
+
+        /** Nodes visited below the object while rendering, charged to the event budget when the fragment is reused. */
+        int nodes;
+
+        /** Characters rendered, charged to the event budget when the fragment is reused. */
+        long chars;
+    }
+}
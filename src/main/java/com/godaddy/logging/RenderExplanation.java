@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import com.godaddy.logging.profiling.RenderCost;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Resolved render plan of a class, as returned by {@link LoggingConfigs#explain(Class)}. Lists the getters and fields
+ * which will be invoked, in order, with their {@link Scope}, how each value is rendered, and the nested plans of
+ * object values until {@link LoggingConfigs#getRecursiveLevel()} cuts rendering off.
+ *
+ * Nested plans are resolved from declared types. A getter declared to return an interface or super class renders the
+ * members of the runtime class instead.
+ */
+@Value
+public class RenderExplanation {
+    Class<?> type;
+
+    /** Class of the custom mapper applied to the type, null when the type's members are rendered. */
+    Class<?> customMapper;
+
+    List<Member> members;
+
+    /**
+     * Render cost measured by the configured {@link com.godaddy.logging.profiling.RenderProfiler}, null when there is
+     * no profiler or the type has not been logged yet.
+     */
+    RenderCost measuredCost;
+
+    public enum Rendering {
+        /** Rendered as a single value. */
+        VALUE,
+
+        /** Rendered with the configured HashProcessor. */
+        HASHED,
+
+        /** Rendered with a custom mapper. */
+        CUSTOM,
+
+        /** Elements rendered after the collection filter. */
+        COLLECTION,
+
+        ARRAY,
+
+        /** Numeric array logged as its length, min, max, mean and first/last elements. */
+        SUMMARY,
+
+        MAP,
+
+        /** Members rendered recursively, see {@link Member#getNested()}. */
+        OBJECT,
+
+        /** Not rendered, the recursive level has been reached. */
+        CUT,
+
+        /** Never read, the declared type is one of the stop types. */
+        STOPPED,
+
+        /** Collection, map or array logged as its size, see {@link Scope#SIZE_ONLY}. */
+        SIZE,
+
+        /** Logged as its toString, see {@link Scope#TO_STRING}. */
+        TO_STRING,
+
+        /** Logged as its members holding single values, see {@link Scope#SHALLOW}. */
+        SHALLOW,
+
+        /** Logged as the class name of its value, see {@link Scope#TYPE_ONLY}. */
+        TYPE
+    }
+
+    @Value
+    public static class Member {
+        /** Name the value is logged under. */
+        String key;
+
+        /** Getter, with parentheses, or field the value is read from. */
+        String source;
+
+        Scope scope;
+
+        Class<?> declaredType;
+
+        Rendering rendering;
+
+        /** Plan of the value's members when it is rendered as an {@link Rendering#OBJECT}, otherwise null. */
+        RenderExplanation nested;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        appendTo(builder, "");
+
+        return builder.toString();
+    }
+
+    private void appendTo(StringBuilder builder, String indent) {
+        builder.append(type.getName());
+
+        if (customMapper != null) {
+            builder.append(" (custom mapper for ").append(customMapper.getName()).append(")");
+        }
+
+        if (measuredCost != null) {
+            builder.append(String.format(" (%d renders, mean %dns, p99 %dns, %d getter calls, %d exceptions)",
+                                         measuredCost.getInvocations(),
+                                         measuredCost.getMeanRenderNanos(),
+                                         measuredCost.getP99RenderNanos(),
+                                         measuredCost.getGetterCalls(),
+                                         measuredCost.getExceptionsSwallowed()));
+        }
+
+        builder.append(System.lineSeparator());
+
+        for (Member member : members) {
+            builder.append(indent)
+                   .append("  ")
+                   .append(member.getKey())
+                   .append(" <- ")
+                   .append(member.getSource())
+                   .append(" ")
+                   .append(member.getScope())
+                   .append(" ")
+                   .append(member.getRendering())
+                   .append(" ");
+
+            if (member.getNested() == null) {
+                builder.append(member.getDeclaredType().getName()).append(System.lineSeparator());
+            }
+            else {
+                member.getNested().appendTo(builder, indent + "  ");
+            }
+        }
+    }
+}
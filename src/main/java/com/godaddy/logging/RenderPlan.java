@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import com.godaddy.logging.accessors.ClassAccessor;
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The getters and fields rendered for a class under a given set of {@link LoggingConfigs}, in rendering order.
+ * Method prefixes, exclude prefixes and {@link Scope#SKIP} are resolved once when the plan is built rather than on
+ * every log statement, and the same plan backs {@link LoggingConfigs#explain(Class)}. Private fields, which only
+ * some {@link LoggingConfigs#getAccessorStrategy()} strategies read, are left out when a getter renders the same key.
+ * A {@link Projection} narrows a plan down to the members it includes.
+ */
+@Getter
+class RenderPlan {
+    private final ClassAccessor accessor;
+
+    private final List<Member> getters;
+
+    private final List<Member> fields;
+
+    /** Whether instances are immutable and their rendered fragments can be cached. */
+    private final boolean immutable;
+
+    RenderPlan(Class<?> clazz, LoggingConfigs configs) {
+        accessor = configs.getAccessorStrategy().get(clazz);
+        getters = new ArrayList<>();
+        fields = new ArrayList<>();
+        immutable = clazz.isAnnotationPresent(LoggingImmutable.class) ||
+                    configs.getImmutableTypes().stream().anyMatch(type -> type.isAssignableFrom(clazz));
+
+        for (LogCache logCache : CacheableAccessors.getMethodIndexes(clazz, accessor, configs.getAccessorCache())) {
+            int index = logCache.getIndex();
+
+            String name = accessor.getMethodNames()[index];
+
+            String key = trimMethodOfPrefix(name, configs.getMethodPrefixes());
+
+            if (Scope.SKIP != logCache.getLogScope() &&
+                accessor.getReturnTypes()[index] != void.class &&
+                accessor.getParameterCount(index) == 0 &&
+                key != null) {
+                getters.add(new Member(index, name, key, logCache.getLogScope(), accessor.getReturnTypes()[index],
+                                       configs.isStopType(accessor.getReturnTypes()[index])));
+            }
+        }
+
+        Set<String> getterKeys = getters.stream().map(Member::getKey).collect(Collectors.toSet());
+
+        for (LogCache logCache : CacheableAccessors.getFieldIndexes(clazz, accessor, configs.getAccessorCache())) {
+            int index = logCache.getIndex();
+
+            String name = accessor.getFieldNames()[index];
+
+            if (Scope.SKIP != logCache.getLogScope() && configs.getExcludesPrefixes().stream().noneMatch(name::startsWith) &&
+                !(accessor.isPrivateField(index) && getterKeys.contains(name))) {
+                fields.add(new Member(index, name, name, logCache.getLogScope(), accessor.getFieldTypes()[index],
+                                      configs.isStopType(accessor.getFieldTypes()[index])));
+            }
+        }
+    }
+
+    /**
+     * Plan rendering only the members of the given plan the projection includes, in the same order.
+     */
+    RenderPlan(RenderPlan plan, Projection projection) {
+        accessor = plan.accessor;
+        getters = plan.getters.stream().filter(member -> projection.includes(member.getKey())).collect(Collectors.toList());
+        fields = plan.fields.stream().filter(member -> projection.includes(member.getKey())).collect(Collectors.toList());
+        immutable = plan.immutable;
+    }
+
+    /**
+     * @return the method name without its prefix and with a lower case first letter, null if the method name does
+     * not start with any of the prefixes
+     */
+    static String trimMethodOfPrefix(String methodName, Set<String> prefixes) {
+        for (String startsWith : prefixes) {
+            if (methodName.startsWith(startsWith)) {
+                return methodName.length() == startsWith.length() ?
+                       methodName
+                                                                  :
+                       Character.toLowerCase(methodName.charAt(startsWith.length())) +
+                       methodName.substring(startsWith.length() + 1);
+            }
+        }
+
+        return null;
+    }
+
+    @Value
+    static class Member {
+        /** {@link ClassAccessor} index of the getter or field. */
+        int index;
+
+        /** Name of the getter or field in the class. */
+        String name;
+
+        /** Name the value is logged under. */
+        String key;
+
+        Scope scope;
+
+        Class<?> type;
+
+        /** Whether the declared type is a stop type, the member is then never read. */
+        boolean stopped;
+    }
+}
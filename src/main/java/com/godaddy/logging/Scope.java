@@ -32,5 +32,23 @@ public enum Scope {
     SKIP,
 
     /** Field/Method will be hashed with the HashProcessor **/
-    HASH;
+    HASH,
+
+    /** Numeric primitive arrays are logged as their length, min, max, mean and first/last elements. Other values are logged. **/
+    SUMMARY,
+
+    /** Collections and maps are logged as their size, arrays as their length. Other values are logged. **/
+    SIZE_ONLY,
+
+    /** Objects are logged as their toString instead of being recursed through. Single values are logged. **/
+    TO_STRING,
+
+    /**
+     * Objects are logged as their getters and fields declared as single values, strings, primitives and enums;
+     * members declared as anything else are left out without being read. Other values are logged.
+     **/
+    SHALLOW,
+
+    /** Field/Method will be logged as the class name of its value. **/
+    TYPE_ONLY;
 }
@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breaker for getters that push events over their {@link LoggingConfigs#getTimeBudgetNanos()} time budget.
+ * Every time a getter that took at least half the time budget itself is running when an event runs out of time, a
+ * breach is recorded against the getter. A run of calls that stay in time forgives the breaches of a getter, so
+ * occasional slow calls spread over a long running application don't add up to a trip. Once a getter reaches the
+ * configured number of breaches the breaker trips: depending on the {@link Action} the getter is no longer called or
+ * its whole class is logged as its class name and toString. Trips last until {@link #reset()}.
+ */
+public class SlowGetterBreaker {
+    public enum Action {
+        /** The tripped getter is logged as {@link #SKIPPED_GETTER} instead of being called. */
+        SKIP_GETTER,
+
+        /** The class of the tripped getter is logged as its class name and toString, none of its getters are called. */
+        TO_STRING
+    }
+
+    /** Logged in place of the value of a tripped getter. */
+    public static final String SKIPPED_GETTER = "<Skipped slow getter>";
+
+    /** Calls in time after which the breaches of a getter are forgiven, unless given otherwise. */
+    public static final int DEFAULT_CALLS_TO_FORGIVE = 1000;
+
+    private final int breachesToTrip;
+
+    private final int callsToForgive;
+
+    private final Action action;
+
+    private final Map<Class<?>, Map<String, Breaches>> breaches = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Set<String>> tripped = new ConcurrentHashMap<>();
+
+    /**
+     * @param breachesToTrip number of breaches after which a getter trips the breaker
+     * @param action         what happens to a tripped getter
+     */
+    public SlowGetterBreaker(int breachesToTrip, Action action) {
+        this(breachesToTrip, DEFAULT_CALLS_TO_FORGIVE, action);
+    }
+
+    /**
+     * @param breachesToTrip number of breaches after which a getter trips the breaker
+     * @param callsToForgive number of calls in a row that stay in time after which the breaches of a getter are forgiven
+     * @param action         what happens to a tripped getter
+     */
+    public SlowGetterBreaker(int breachesToTrip, int callsToForgive, Action action) {
+        this.breachesToTrip = breachesToTrip;
+        this.callsToForgive = callsToForgive;
+        this.action = action;
+    }
+
+    /**
+     * Records that the getter was running when an event ran out of time.
+     */
+    public void recordBreach(Class<?> clazz, String getter) {
+        int count = breaches.computeIfAbsent(clazz, c -> new ConcurrentHashMap<>())
+                            .computeIfAbsent(getter, g -> new Breaches())
+                            .breach();
+
+        if (count >= breachesToTrip) {
+            tripped.computeIfAbsent(clazz, c -> ConcurrentHashMap.newKeySet()).add(getter);
+        }
+    }
+
+    /**
+     * Records that a call to the getter stayed in time, only getters with breaches are tracked.
+     */
+    public void recordInTime(Class<?> clazz, String getter) {
+        if (breaches.isEmpty()) {
+            return;
+        }
+
+        Map<String, Breaches> byGetter = breaches.get(clazz);
+
+        Breaches count = byGetter == null ? null : byGetter.get(getter);
+
+        if (count != null) {
+            count.inTime(callsToForgive);
+        }
+    }
+
+    /**
+     * @return whether the getter must not be called anymore
+     */
+    public boolean isSkipped(Class<?> clazz, String getter) {
+        if (action != Action.SKIP_GETTER || tripped.isEmpty()) {
+            return false;
+        }
+
+        Set<String> getters = tripped.get(clazz);
+
+        return getters != null && getters.contains(getter);
+    }
+
+    /**
+     * @return whether instances of the class must be logged as their class name and toString
+     */
+    public boolean isDowngraded(Class<?> clazz) {
+        return action == Action.TO_STRING && !tripped.isEmpty() && tripped.containsKey(clazz);
+    }
+
+    public int getBreaches(Class<?> clazz, String getter) {
+        Map<String, Breaches> byGetter = breaches.get(clazz);
+
+        Breaches count = byGetter == null ? null : byGetter.get(getter);
+
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @return the tripped getters by class
+     */
+    public Map<Class<?>, Set<String>> getTripped() {
+        return Collections.unmodifiableMap(tripped);
+    }
+
+    /**
+     * Forgets all breaches and closes the breaker again.
+     */
+    public void reset() {
+        breaches.clear();
+        tripped.clear();
+    }
+
+    /**
+     * Breaches of a getter, and the calls in time since its last breach.
+     */
+    private static class Breaches {
+        private int count;
+
+        private int inTime;
+
+        synchronized int breach() {
+            inTime = 0;
+
+            return ++count;
+        }
+
+        synchronized void inTime(int callsToForgive) {
+            if (count > 0 && ++inTime >= callsToForgive) {
+                count = 0;
+                inTime = 0;
+            }
+        }
+
+        synchronized int get() {
+            return count;
+        }
+    }
+}
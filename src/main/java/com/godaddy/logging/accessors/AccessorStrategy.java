@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.accessors;
+
+/**
+ * Creates the accessors render plans read getters and fields through. Selected with
+ * {@link com.godaddy.logging.LoggingConfigs#withAccessorStrategy(AccessorStrategy)}.
+ */
+public interface AccessorStrategy {
+    /** ReflectASM generated access classes, public and package visible members only. The default. */
+    AccessorStrategy REFLECT_ASM = new ReflectAsmAccessorStrategy();
+
+    /**
+     * Lambdas spun with LambdaMetafactory for public getters, method handles for other methods and for fields,
+     * private fields included.
+     */
+    AccessorStrategy METHOD_HANDLES = new MethodHandleAccessorStrategy();
+
+    ClassAccessor get(Class<?> clazz);
+}
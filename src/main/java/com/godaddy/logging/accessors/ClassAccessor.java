@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.accessors;
+
+/**
+ * Methods and fields of a class that can be read, addressed by index. Names may repeat for overloaded methods and
+ * shadowed fields, the index of a name is the index of its first occurrence.
+ */
+public interface ClassAccessor {
+    String[] getMethodNames();
+
+    Class<?>[] getReturnTypes();
+
+    int getParameterCount(int methodIndex);
+
+    int getMethodIndex(String methodName);
+
+    /**
+     * Invokes a method without arguments. Exceptions thrown by the method are rethrown as is.
+     */
+    Object invoke(Object target, int methodIndex);
+
+    String[] getFieldNames();
+
+    Class<?>[] getFieldTypes();
+
+    int getFieldIndex(String fieldName);
+
+    Object get(Object target, int fieldIndex);
+
+    /**
+     * @return whether the field is private, private fields are only rendered when no getter renders the same key
+     */
+    default boolean isPrivateField(int fieldIndex) {
+        return false;
+    }
+}
@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.accessors;
+
+import com.google.common.primitives.Primitives;
+import lombok.SneakyThrows;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the same methods as ReflectASM, the non-private methods declared by the class and its superclasses, and all
+ * of their instance fields, private ones included. Public getters of public classes visible from this library are
+ * read through a lambda spun with LambdaMetafactory, which the JIT can inline like a direct call. Everything else is
+ * read through a method handle, after making the member accessible. Getters and fields that can't be made accessible,
+ * such as the private fields of java.* classes on JDK 9 and later, are left out of the accessor when it is built, so
+ * render plans never see them rather than failing on every read.
+ */
+class MethodHandleAccessorStrategy implements AccessorStrategy {
+
+    private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    @Override public ClassAccessor get(Class<?> clazz) {
+        return new MethodHandleClassAccessor(clazz);
+    }
+
+    /**
+     * Reads a value from a target object. Public so that LambdaMetafactory can implement it from any class.
+     */
+    @FunctionalInterface
+    public interface Reader {
+        Object read(Object target) throws Throwable;
+    }
+
+    private static class MethodHandleClassAccessor implements ClassAccessor {
+        private final String[] methodNames;
+
+        private final Class<?>[] returnTypes;
+
+        private final int[] parameterCounts;
+
+        private final Reader[] methodReaders;
+
+        private final String[] fieldNames;
+
+        private final Class<?>[] fieldTypes;
+
+        private final boolean[] privateFields;
+
+        private final Reader[] fieldReaders;
+
+        MethodHandleClassAccessor(Class<?> clazz) {
+            List<Method> methods = new ArrayList<>();
+            List<Reader> methodReaderList = new ArrayList<>();
+            List<Field> fields = new ArrayList<>();
+            List<Reader> fieldReaderList = new ArrayList<>();
+            Set<String> signatures = new HashSet<>();
+
+            for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Method method : current.getDeclaredMethods()) {
+                    // overridden methods are only read once, from the most specific class
+                    if (!Modifier.isPrivate(method.getModifiers()) && !method.isBridge() &&
+                        signatures.add(method.getName() + MethodType.methodType(void.class, method.getParameterTypes()))) {
+                        // only getters are ever invoked, methods with parameters are kept unread for parity with ReflectASM
+                        boolean getter = method.getParameterCount() == 0 && method.getReturnType() != void.class;
+
+                        Reader reader = getter ? reader(method) : null;
+
+                        if (!getter || reader != null) {
+                            methods.add(method);
+                            methodReaderList.add(reader);
+                        }
+                    }
+                }
+
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        Reader reader = reader(field);
+
+                        if (reader != null) {
+                            fields.add(field);
+                            fieldReaderList.add(reader);
+                        }
+                    }
+                }
+            }
+
+            methodNames = new String[methods.size()];
+            returnTypes = new Class<?>[methods.size()];
+            parameterCounts = new int[methods.size()];
+            methodReaders = new Reader[methods.size()];
+
+            for (int i = 0; i < methods.size(); i++) {
+                Method method = methods.get(i);
+
+                methodNames[i] = method.getName();
+                returnTypes[i] = method.getReturnType();
+                parameterCounts[i] = method.getParameterCount();
+                methodReaders[i] = methodReaderList.get(i);
+            }
+
+            fieldNames = new String[fields.size()];
+            fieldTypes = new Class<?>[fields.size()];
+            privateFields = new boolean[fields.size()];
+            fieldReaders = new Reader[fields.size()];
+
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+
+                fieldNames[i] = field.getName();
+                fieldTypes[i] = field.getType();
+                privateFields[i] = Modifier.isPrivate(field.getModifiers());
+                fieldReaders[i] = fieldReaderList.get(i);
+            }
+        }
+
+        @Override public String[] getMethodNames() {
+            return methodNames;
+        }
+
+        @Override public Class<?>[] getReturnTypes() {
+            return returnTypes;
+        }
+
+        @Override public int getParameterCount(int methodIndex) {
+            return parameterCounts[methodIndex];
+        }
+
+        @Override public int getMethodIndex(String methodName) {
+            return indexOf(methodNames, methodName);
+        }
+
+        @SneakyThrows
+        @Override public Object invoke(Object target, int methodIndex) {
+            Reader reader = methodReaders[methodIndex];
+
+            if (reader == null) {
+                throw new IllegalAccessError("Method " + methodNames[methodIndex] + " can't be read");
+            }
+
+            return reader.read(target);
+        }
+
+        @Override public String[] getFieldNames() {
+            return fieldNames;
+        }
+
+        @Override public Class<?>[] getFieldTypes() {
+            return fieldTypes;
+        }
+
+        @Override public int getFieldIndex(String fieldName) {
+            return indexOf(fieldNames, fieldName);
+        }
+
+        @SneakyThrows
+        @Override public Object get(Object target, int fieldIndex) {
+            return fieldReaders[fieldIndex].read(target);
+        }
+
+        @Override public boolean isPrivateField(int fieldIndex) {
+            return privateFields[fieldIndex];
+        }
+
+        private static int indexOf(String[] names, String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+
+            throw new IllegalArgumentException("Unable to find member: " + name);
+        }
+    }
+
+    /**
+     * @return reader invoking the getter, null if it can't be made accessible
+     */
+    private static Reader reader(Method method) {
+        try {
+            if (canSpin(method)) {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+                MethodType instantiatedType = MethodType.methodType(Primitives.wrap(method.getReturnType()), method.getDeclaringClass());
+
+                return (Reader) LambdaMetafactory.metafactory(lookup, "read", MethodType.methodType(Reader.class), READER_TYPE,
+                                                              lookup.unreflect(method), instantiatedType)
+                                                 .getTarget()
+                                                 .invoke();
+            }
+
+            method.setAccessible(true);
+
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+
+            return handle(handle.asType(READER_TYPE));
+        }
+        catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /**
+     * @return reader of the field, null if it can't be made accessible
+     */
+    private static Reader reader(Field field) {
+        try {
+            field.setAccessible(true);
+
+            return handle(MethodHandles.lookup().unreflectGetter(field).asType(READER_TYPE));
+        }
+        catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /**
+     * The handle is captured by the lambda rather than being a constant, so unlike a spun getter the JIT can't inline
+     * through it, and fields and non-public getters pay for an invokeExact on every read.
+     */
+    private static Reader handle(MethodHandle handle) {
+        return target -> handle.invokeExact(target);
+    }
+
+    /**
+     * A spun lambda calls the getter from a class defined next to this one, which must be able to see and access it.
+     */
+    private static boolean canSpin(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers())) {
+            return false;
+        }
+
+        for (Class<?> clazz = method.getDeclaringClass(); clazz != null; clazz = clazz.getEnclosingClass()) {
+            if (!Modifier.isPublic(clazz.getModifiers())) {
+                return false;
+            }
+        }
+
+        try {
+            return Class.forName(method.getDeclaringClass().getName(), false, MethodHandleAccessorStrategy.class.getClassLoader()) ==
+                   method.getDeclaringClass();
+        }
+        catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
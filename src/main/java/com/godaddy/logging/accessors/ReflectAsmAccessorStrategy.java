@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.accessors;
+
+import com.esotericsoftware.reflectasm.FieldAccess;
+import com.esotericsoftware.reflectasm.MethodAccess;
+
+class ReflectAsmAccessorStrategy implements AccessorStrategy {
+
+    private static final String[] NO_NAMES = new String[0];
+
+    private static final Class<?>[] NO_TYPES = new Class<?>[0];
+
+    /**
+     * Interfaces, which JDK proxies are planned as, have no fields and FieldAccess can't walk their superclasses.
+     */
+    @Override public ClassAccessor get(Class<?> clazz) {
+        return new ReflectAsmClassAccessor(MethodAccess.get(clazz), clazz.isInterface() ? null : FieldAccess.get(clazz));
+    }
+
+    private static class ReflectAsmClassAccessor implements ClassAccessor {
+        private final MethodAccess methodAccess;
+
+        private final FieldAccess fieldAccess;
+
+        ReflectAsmClassAccessor(MethodAccess methodAccess, FieldAccess fieldAccess) {
+            this.methodAccess = methodAccess;
+            this.fieldAccess = fieldAccess;
+        }
+
+        @Override public String[] getMethodNames() {
+            return methodAccess.getMethodNames();
+        }
+
+        @Override public Class<?>[] getReturnTypes() {
+            return methodAccess.getReturnTypes();
+        }
+
+        @Override public int getParameterCount(int methodIndex) {
+            return methodAccess.getParameterTypes()[methodIndex].length;
+        }
+
+        @Override public int getMethodIndex(String methodName) {
+            return methodAccess.getIndex(methodName);
+        }
+
+        @Override public Object invoke(Object target, int methodIndex) {
+            return methodAccess.invoke(target, methodIndex);
+        }
+
+        @Override public String[] getFieldNames() {
+            return fieldAccess == null ? NO_NAMES : fieldAccess.getFieldNames();
+        }
+
+        @Override public Class<?>[] getFieldTypes() {
+            return fieldAccess == null ? NO_TYPES : fieldAccess.getFieldTypes();
+        }
+
+        @Override public int getFieldIndex(String fieldName) {
+            return fieldAccess.getIndex(fieldName);
+        }
+
+        @Override public Object get(Object target, int fieldIndex) {
+            return fieldAccess.get(target, fieldIndex);
+        }
+    }
+}
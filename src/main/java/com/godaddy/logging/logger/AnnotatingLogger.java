@@ -46,8 +46,16 @@ public class AnnotatingLogger extends LoggerImpl {
 
     @Override
     public LogContext<?> getMessage(LogContext<?> previous) {
-        MessageBuilder messageBuilder = configs.getMessageBuilderFunction().getBuilder(configs);
+        LoggingConfigs eventConfigs = configs.forLevel(previous == null ? null : previous.getLevel());
 
-        return parent.getMessage(messageBuilder.buildMessage(previous, obj));
+        MessageBuilder messageBuilder = eventConfigs.getMessageBuilderFunction().getBuilder(eventConfigs);
+
+        LogContext<?> next = messageBuilder.buildMessage(previous, obj);
+
+        if (next != null && previous != null) {
+            next.setLevel(previous.getLevel());
+        }
+
+        return parent.getMessage(next);
     }
 }
@@ -27,8 +27,11 @@ import com.godaddy.logging.LogContext;
 import com.godaddy.logging.LogMessage;
 import com.godaddy.logging.Logger;
 import com.godaddy.logging.LoggingConfigs;
+import com.godaddy.logging.profiling.VolumeTracker;
+import com.google.common.collect.Lists;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
+import org.slf4j.event.Level;
 import org.slf4j.helpers.FormattingTuple;
 import org.slf4j.helpers.MessageFormatter;
 
@@ -52,6 +55,11 @@ public class LoggerImpl implements Logger {
         return new AnnotatingLogger(root, this, obj, configs);
     }
 
+    @Override
+    public Logger with(Object obj, String path, String... paths) {
+        return with(configs.project(obj, Lists.asList(path, paths)));
+    }
+
     @Override
     public Logger with(final String key, final Object value) {
         LogMessage logMessage = new LogMessage();
@@ -65,8 +73,12 @@ public class LoggerImpl implements Logger {
         return runningLogContext;
     }
 
-    private LogContext getMessage(String msg) {
-        return getMessage(new InitialLogContext(msg));
+    private LogContext getMessage(Level level, String msg) {
+        InitialLogContext context = new InitialLogContext(msg);
+
+        context.setLevel(level);
+
+        return getMessage(context);
     }
 
     private String formatMessage(LogContext msg) {
@@ -75,9 +87,29 @@ public class LoggerImpl implements Logger {
         return formattedPayload == null ? null : formattedPayload.toString();
     }
 
+    private String formatMessage(Level level, String msg) {
+        return formatMessage(level, msg, msg);
+    }
+
+    private String formatMessage(Level level, String template, String msg) {
+        String formatted = formatMessage(getMessage(level, msg));
+
+        if (configs.getVolumeTracker() != null) {
+            recordVolume(level, template, VolumeTracker.utf8Length(formatted));
+        }
+
+        return formatted;
+    }
+
+    protected void recordVolume(Level level, String template, long bytes) {
+        configs.getVolumeTracker().record(getName(), level, template, bytes);
+    }
+
     @Override
     public void info(String msg) {
-        root.info(formatMessage(getMessage(msg)));
+        if (root.isInfoEnabled()) {
+            root.info(formatMessage(Level.INFO, msg));
+        }
     }
 
     @Override
@@ -92,27 +124,37 @@ public class LoggerImpl implements Logger {
 
     @Override
     public void trace(String msg) {
-        root.trace(formatMessage(getMessage(msg)));
+        if (root.isTraceEnabled()) {
+            root.trace(formatMessage(Level.TRACE, msg));
+        }
     }
 
     @Override
     public void trace(String format, Object arg) {
-        root.trace(formatMessage(getMessage(format)), arg);
+        if (root.isTraceEnabled()) {
+            root.trace(formatMessage(Level.TRACE, format), arg);
+        }
     }
 
     @Override
     public void trace(String format, Object arg1, Object arg2) {
-        root.trace(formatMessage(getMessage(format)), arg1, arg2);
+        if (root.isTraceEnabled()) {
+            root.trace(formatMessage(Level.TRACE, format), arg1, arg2);
+        }
     }
 
     @Override
     public void trace(String format, Object... arguments) {
-        root.trace(formatMessage(getMessage(format)), arguments);
+        if (root.isTraceEnabled()) {
+            root.trace(formatMessage(Level.TRACE, format), arguments);
+        }
     }
 
     @Override
     public void trace(String msg, Throwable t) {
-        root.trace(formatMessage(getMessage(msg)), t);
+        if (root.isTraceEnabled()) {
+            root.trace(formatMessage(Level.TRACE, msg), t);
+        }
     }
 
     @Override public boolean isTraceEnabled(final Marker marker) {
@@ -121,27 +163,37 @@ public class LoggerImpl implements Logger {
 
     @Override
     public void trace(Marker marker, String msg) {
-        root.trace(marker, formatMessage(getMessage(msg)));
+        if (root.isTraceEnabled(marker)) {
+            root.trace(marker, formatMessage(Level.TRACE, msg));
+        }
     }
 
     @Override
     public void trace(Marker marker, String format, Object arg) {
-        root.trace(marker, formatMessage(getMessage(format)), arg);
+        if (root.isTraceEnabled(marker)) {
+            root.trace(marker, formatMessage(Level.TRACE, format), arg);
+        }
     }
 
     @Override
     public void trace(Marker marker, String format, Object arg1, Object arg2) {
-        root.trace(marker, formatMessage(getMessage(format)), arg1, arg2);
+        if (root.isTraceEnabled(marker)) {
+            root.trace(marker, formatMessage(Level.TRACE, format), arg1, arg2);
+        }
     }
 
     @Override
     public void trace(Marker marker, String format, Object... argArray) {
-        root.trace(marker, formatMessage(getMessage(format)), argArray);
+        if (root.isTraceEnabled(marker)) {
+            root.trace(marker, formatMessage(Level.TRACE, format), argArray);
+        }
     }
 
     @Override
     public void trace(Marker marker, String msg, Throwable t) {
-        root.trace(marker, formatMessage(getMessage(msg)), t);
+        if (root.isTraceEnabled(marker)) {
+            root.trace(marker, formatMessage(Level.TRACE, msg), t);
+        }
     }
 
     @Override
@@ -151,27 +203,37 @@ public class LoggerImpl implements Logger {
 
     @Override
     public void debug(String msg) {
-        root.debug(formatMessage(getMessage(msg)));
+        if (root.isDebugEnabled()) {
+            root.debug(formatMessage(Level.DEBUG, msg));
+        }
     }
 
     @Override
     public void debug(String format, Object arg) {
-        root.debug(formatMessage(getMessage(format)), arg);
+        if (root.isDebugEnabled()) {
+            root.debug(formatMessage(Level.DEBUG, format), arg);
+        }
     }
 
     @Override
     public void debug(String format, Object arg1, Object arg2) {
-        root.debug(formatMessage(getMessage(format)), arg1, arg2);
+        if (root.isDebugEnabled()) {
+            root.debug(formatMessage(Level.DEBUG, format), arg1, arg2);
+        }
     }
 
     @Override
     public void debug(String format, Object... arguments) {
-        root.debug(formatMessage(getMessage(format)), arguments);
+        if (root.isDebugEnabled()) {
+            root.debug(formatMessage(Level.DEBUG, format), arguments);
+        }
     }
 
     @Override
     public void debug(String msg, Throwable t) {
-        root.debug(formatMessage(getMessage(msg)), t);
+        if (root.isDebugEnabled()) {
+            root.debug(formatMessage(Level.DEBUG, msg), t);
+        }
     }
 
     @Override
@@ -181,27 +243,37 @@ public class LoggerImpl implements Logger {
 
     @Override
     public void debug(Marker marker, String msg) {
-        root.debug(marker, formatMessage(getMessage(msg)));
+        if (root.isDebugEnabled(marker)) {
+            root.debug(marker, formatMessage(Level.DEBUG, msg));
+        }
     }
 
     @Override
     public void debug(Marker marker, String format, Object arg) {
-        root.debug(marker, formatMessage(getMessage(format)), arg);
+        if (root.isDebugEnabled(marker)) {
+            root.debug(marker, formatMessage(Level.DEBUG, format), arg);
+        }
     }
 
     @Override
     public void debug(Marker marker, String format, Object arg1, Object arg2) {
-        root.debug(marker, formatMessage(getMessage(format)), arg1, arg2);
+        if (root.isDebugEnabled(marker)) {
+            root.debug(marker, formatMessage(Level.DEBUG, format), arg1, arg2);
+        }
     }
 
     @Override
     public void debug(Marker marker, String format, Object... arguments) {
-        root.debug(marker, formatMessage(getMessage(format)), arguments);
+        if (root.isDebugEnabled(marker)) {
+            root.debug(marker, formatMessage(Level.DEBUG, format), arguments);
+        }
     }
 
     @Override
     public void debug(Marker marker, String msg, Throwable t) {
-        root.debug(marker, formatMessage(getMessage(msg)), t);
+        if (root.isDebugEnabled(marker)) {
+            root.debug(marker, formatMessage(Level.DEBUG, msg), t);
+        }
     }
 
     @Override
@@ -211,23 +283,30 @@ public class LoggerImpl implements Logger {
 
     @Override
     public void info(String format, Object arg) {
-        root.info(formatMessage(getMessage(format)), arg);
+        if (root.isInfoEnabled()) {
+            root.info(formatMessage(Level.INFO, format), arg);
+        }
     }
 
     @Override
     public void info(String format, Object arg1, Object arg2) {
-        root.info(formatMessage(getMessage(format)), arg1, arg2);
+        if (root.isInfoEnabled()) {
+            root.info(formatMessage(Level.INFO, format), arg1, arg2);
+        }
     }
 
     @Override
     public void info(String format, Object... arguments) {
-
-        root.info(formatMessage(getMessage(format)), arguments);
+        if (root.isInfoEnabled()) {
+            root.info(formatMessage(Level.INFO, format), arguments);
+        }
     }
 
     @Override
     public void info(String msg, Throwable t) {
-        root.info(formatMessage(getMessage(msg)), t);
+        if (root.isInfoEnabled()) {
+            root.info(formatMessage(Level.INFO, msg), t);
+        }
     }
 
     @Override
@@ -237,27 +316,37 @@ public class LoggerImpl implements Logger {
 
     @Override
     public void info(Marker marker, String msg) {
-        root.info(marker, formatMessage(getMessage(msg)));
+        if (root.isInfoEnabled(marker)) {
+            root.info(marker, formatMessage(Level.INFO, msg));
+        }
     }
 
     @Override
     public void info(Marker marker, String format, Object arg) {
-        root.info(marker, formatMessage(getMessage(format)), arg);
+        if (root.isInfoEnabled(marker)) {
+            root.info(marker, formatMessage(Level.INFO, format), arg);
+        }
     }
 
     @Override
     public void info(Marker marker, String format, Object arg1, Object arg2) {
-        root.info(marker, formatMessage(getMessage(format)), arg1, arg2);
+        if (root.isInfoEnabled(marker)) {
+            root.info(marker, formatMessage(Level.INFO, format), arg1, arg2);
+        }
     }
 
     @Override
     public void info(Marker marker, String format, Object... arguments) {
-        root.info(marker, formatMessage(getMessage(format)), arguments);
+        if (root.isInfoEnabled(marker)) {
+            root.info(marker, formatMessage(Level.INFO, format), arguments);
+        }
     }
 
     @Override
     public void info(Marker marker, String msg, Throwable t) {
-        root.info(marker, formatMessage(getMessage(msg)), t);
+        if (root.isInfoEnabled(marker)) {
+            root.info(marker, formatMessage(Level.INFO, msg), t);
+        }
     }
 
     @Override
@@ -267,27 +356,37 @@ public class LoggerImpl implements Logger {
 
     @Override
     public void warn(String msg) {
-        root.warn(formatMessage(getMessage(msg)));
+        if (root.isWarnEnabled()) {
+            root.warn(formatMessage(Level.WARN, msg));
+        }
     }
 
     @Override
     public void warn(String format, Object arg) {
-        root.warn(formatMessage(getMessage(format)), arg);
+        if (root.isWarnEnabled()) {
+            root.warn(formatMessage(Level.WARN, format), arg);
+        }
     }
 
     @Override
     public void warn(String format, Object... arguments) {
-        root.warn(formatMessage(getMessage(format)), arguments);
+        if (root.isWarnEnabled()) {
+            root.warn(formatMessage(Level.WARN, format), arguments);
+        }
     }
 
     @Override
     public void warn(String format, Object arg1, Object arg2) {
-        root.warn(formatMessage(getMessage(format)), arg1, arg2);
+        if (root.isWarnEnabled()) {
+            root.warn(formatMessage(Level.WARN, format), arg1, arg2);
+        }
     }
 
     @Override
     public void warn(String msg, Throwable t) {
-        root.warn(formatMessage(getMessage(msg)), t);
+        if (root.isWarnEnabled()) {
+            root.warn(formatMessage(Level.WARN, msg), t);
+        }
     }
 
     @Override
@@ -297,27 +396,37 @@ public class LoggerImpl implements Logger {
 
     @Override
     public void warn(Marker marker, String msg) {
-        root.warn(marker, formatMessage(getMessage(msg)));
+        if (root.isWarnEnabled(marker)) {
+            root.warn(marker, formatMessage(Level.WARN, msg));
+        }
     }
 
     @Override
     public void warn(Marker marker, String format, Object arg) {
-        root.warn(marker, formatMessage(getMessage(format)), arg);
+        if (root.isWarnEnabled(marker)) {
+            root.warn(marker, formatMessage(Level.WARN, format), arg);
+        }
     }
 
     @Override
     public void warn(Marker marker, String format, Object arg1, Object arg2) {
-        root.warn(marker, formatMessage(getMessage(format)), arg1, arg2);
+        if (root.isWarnEnabled(marker)) {
+            root.warn(marker, formatMessage(Level.WARN, format), arg1, arg2);
+        }
     }
 
     @Override
     public void warn(Marker marker, String format, Object... arguments) {
-        root.warn(marker, formatMessage(getMessage(format)), arguments);
+        if (root.isWarnEnabled(marker)) {
+            root.warn(marker, formatMessage(Level.WARN, format), arguments);
+        }
     }
 
     @Override
     public void warn(Marker marker, String msg, Throwable t) {
-        root.warn(marker, formatMessage(getMessage(msg)), t);
+        if (root.isWarnEnabled(marker)) {
+            root.warn(marker, formatMessage(Level.WARN, msg), t);
+        }
     }
 
     @Override
@@ -327,27 +436,37 @@ public class LoggerImpl implements Logger {
 
     @Override
     public void error(String msg) {
-        root.error(formatMessage(getMessage(msg)));
+        if (root.isErrorEnabled()) {
+            root.error(formatMessage(Level.ERROR, msg));
+        }
     }
 
     @Override
     public void error(String format, Object arg) {
-        root.error(formatMessage(getMessage(format)), arg);
+        if (root.isErrorEnabled()) {
+            root.error(formatMessage(Level.ERROR, format), arg);
+        }
     }
 
     @Override
     public void error(String format, Object arg1, Object arg2) {
-        root.error(formatMessage(getMessage(format)), arg1, arg2);
+        if (root.isErrorEnabled()) {
+            root.error(formatMessage(Level.ERROR, format), arg1, arg2);
+        }
     }
 
     @Override
     public void error(String format, Object... arguments) {
-        root.error(formatMessage(getMessage(format)), arguments);
+        if (root.isErrorEnabled()) {
+            root.error(formatMessage(Level.ERROR, format), arguments);
+        }
     }
 
     @Override
     public void error(String msg, Throwable t) {
-        root.error(formatMessage(getMessage(msg)), t);
+        if (root.isErrorEnabled()) {
+            root.error(formatMessage(Level.ERROR, msg), t);
+        }
     }
 
     @Override
@@ -357,39 +476,53 @@ public class LoggerImpl implements Logger {
 
     @Override
     public void error(Marker marker, String msg) {
-        root.error(marker, formatMessage(getMessage(msg)));
+        if (root.isErrorEnabled(marker)) {
+            root.error(marker, formatMessage(Level.ERROR, msg));
+        }
     }
 
     @Override
     public void error(Marker marker, String format, Object arg) {
-        root.error(marker, formatMessage(getMessage(format)), arg);
+        if (root.isErrorEnabled(marker)) {
+            root.error(marker, formatMessage(Level.ERROR, format), arg);
+        }
     }
 
     @Override
     public void error(Marker marker, String format, Object arg1, Object arg2) {
-        root.error(marker, formatMessage(getMessage(format)), arg1, arg2);
+        if (root.isErrorEnabled(marker)) {
+            root.error(marker, formatMessage(Level.ERROR, format), arg1, arg2);
+        }
     }
 
     @Override
     public void error(Marker marker, String format, Object... arguments) {
-        root.error(marker, formatMessage(getMessage(format)), arguments);
+        if (root.isErrorEnabled(marker)) {
+            root.error(marker, formatMessage(Level.ERROR, format), arguments);
+        }
     }
 
     @Override
     public void error(Marker marker, String msg, Throwable t) {
-        root.error(marker, formatMessage(getMessage(msg)), t);
+        if (root.isErrorEnabled(marker)) {
+            root.error(marker, formatMessage(Level.ERROR, msg), t);
+        }
     }
 
     @Override
     public void error(Throwable t, String format, Object... args) {
-        FormattingTuple ft = MessageFormatter.arrayFormat(format, args);
-        root.error(formatMessage(getMessage(ft.getMessage())), t);
+        if (root.isErrorEnabled()) {
+            FormattingTuple ft = MessageFormatter.arrayFormat(format, args);
+            root.error(formatMessage(Level.ERROR, format, ft.getMessage()), t);
+        }
     }
 
     @Override
     public void warn(final Throwable t, final String format, final Object... args) {
-        FormattingTuple ft = MessageFormatter.arrayFormat(format, args);
-        root.warn(formatMessage(getMessage(ft.getMessage())), t);
+        if (root.isWarnEnabled()) {
+            FormattingTuple ft = MessageFormatter.arrayFormat(format, args);
+            root.warn(formatMessage(Level.WARN, format, ft.getMessage()), t);
+        }
     }
 
     @Override public void success(final String format, final Object... args) {
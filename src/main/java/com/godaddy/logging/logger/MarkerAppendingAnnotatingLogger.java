@@ -45,9 +45,17 @@ public class MarkerAppendingAnnotatingLogger extends MarkerAppendingLogger {
 
     @Override
     public LogContext<?> getMessage(LogContext<?> previous) {
-        MessageBuilder messageBuilder = configs.getMessageBuilderFunction().getBuilder(configs);
+        LoggingConfigs eventConfigs = configs.forLevel(previous == null ? null : previous.getLevel());
 
-        return markerAppendingLogger.getMessage(messageBuilder.buildMessage(previous, obj));
+        MessageBuilder messageBuilder = eventConfigs.getMessageBuilderFunction().getBuilder(eventConfigs);
+
+        LogContext<?> next = messageBuilder.buildMessage(previous, obj);
+
+        if (next != null && previous != null) {
+            next.setLevel(previous.getLevel());
+        }
+
+        return markerAppendingLogger.getMessage(next);
     }
 
 }
@@ -27,11 +27,17 @@ import com.godaddy.logging.LogContext;
 import com.godaddy.logging.LogMessage;
 import com.godaddy.logging.Logger;
 import com.godaddy.logging.LoggingConfigs;
+import com.godaddy.logging.RenderBudget;
+import com.godaddy.logging.profiling.VolumeTracker;
 import org.slf4j.Marker;
+import org.slf4j.event.Level;
 import org.slf4j.helpers.FormattingTuple;
 import org.slf4j.helpers.MessageFormatter;
 
 public class MarkerAppendingLogger extends LoggerImpl {
+    /** Estimated JSON syntax around each rendered node: the quotes around its key, the colon and the comma. */
+    private static final int JSON_BYTES_PER_NODE = 4;
+
     private final Logger root;
     private final LoggingConfigs configs;
 
@@ -59,307 +65,445 @@ public class MarkerAppendingLogger extends LoggerImpl {
         return new MarkerAppendingAnnotatingLogger(root, this, logMessage, configs);
     }
 
-    private LogContext getMessage(String msg) {
-        return getMessage(new InitialLogContext(msg));
+    private LogContext getMessage(Level level, String msg) {
+        InitialLogContext context = new InitialLogContext(msg);
+
+        context.setLevel(level);
+
+        return getMessage(context);
     }
 
     private Marker formatMessage(LogContext msg) {
         return (Marker) configs.getMessageBuilderFunction().formatPayload(msg);
     }
 
+    private Marker formatMessage(Level level, String msg) {
+        return formatMessage(level, msg, msg);
+    }
+
+    private Marker formatMessage(Level level, String template, String msg) {
+        LogContext context = getMessage(level, msg);
+
+        Marker marker = formatMessage(context);
+
+        if (configs.getVolumeTracker() != null) {
+            // the marker is not formatted again, its size is estimated from the event budget, which counted the nodes
+            // and the characters of the keys and values while rendering them, one byte per character
+            RenderBudget budget = context.getBudget();
+
+            long bytes = VolumeTracker.utf8Length(msg);
+
+            if (budget != null) {
+                bytes += budget.getChars() + JSON_BYTES_PER_NODE * (long) budget.getNodes();
+            }
+
+            recordVolume(level, template, bytes);
+        }
+
+        return marker;
+    }
+
     @Override public void info(final String msg) {
-        root.info(formatMessage(getMessage(msg)), msg);
+        if (root.isInfoEnabled()) {
+            root.info(formatMessage(Level.INFO, msg), msg);
+        }
     }
 
     @Override
     public void trace(String msg) {
-        root.trace(formatMessage(getMessage(msg)), msg);
+        if (root.isTraceEnabled()) {
+            root.trace(formatMessage(Level.TRACE, msg), msg);
+        }
     }
 
     @Override
     public void trace(String format, Object arg) {
-        root.trace(formatMessage(getMessage(format)), format, arg);
+        if (root.isTraceEnabled()) {
+            root.trace(formatMessage(Level.TRACE, format), format, arg);
+        }
     }
 
     @Override
     public void trace(String format, Object arg1, Object arg2) {
-        root.trace(formatMessage(getMessage(format)), format, arg1, arg2);
+        if (root.isTraceEnabled()) {
+            root.trace(formatMessage(Level.TRACE, format), format, arg1, arg2);
+        }
     }
 
     @Override
     public void trace(String format, Object... arguments) {
-        root.trace(formatMessage(getMessage(format)), format, arguments);
+        if (root.isTraceEnabled()) {
+            root.trace(formatMessage(Level.TRACE, format), format, arguments);
+        }
     }
 
     @Override
     public void trace(String msg, Throwable t) {
-        root.trace(formatMessage(getMessage(msg)), msg, t);
+        if (root.isTraceEnabled()) {
+            root.trace(formatMessage(Level.TRACE, msg), msg, t);
+        }
     }
 
     @Override
     public void trace(Marker marker, String msg) {
-        marker.add(formatMessage(getMessage(msg)));
-        root.trace(marker, msg);
+        if (root.isTraceEnabled(marker)) {
+            marker.add(formatMessage(Level.TRACE, msg));
+            root.trace(marker, msg);
+        }
     }
 
     @Override
     public void trace(Marker marker, String format, Object arg) {
-        marker.add(formatMessage(getMessage(format)));
-        root.trace(marker, format, arg);
+        if (root.isTraceEnabled(marker)) {
+            marker.add(formatMessage(Level.TRACE, format));
+            root.trace(marker, format, arg);
+        }
     }
 
     @Override
     public void trace(Marker marker, String format, Object arg1, Object arg2) {
-        marker.add(formatMessage(getMessage(format)));
-        root.trace(marker, format, arg1, arg2);
+        if (root.isTraceEnabled(marker)) {
+            marker.add(formatMessage(Level.TRACE, format));
+            root.trace(marker, format, arg1, arg2);
+        }
     }
 
     @Override
     public void trace(Marker marker, String format, Object... argArray) {
-        marker.add(formatMessage(getMessage(format)));
-        root.trace(marker, format, argArray);
+        if (root.isTraceEnabled(marker)) {
+            marker.add(formatMessage(Level.TRACE, format));
+            root.trace(marker, format, argArray);
+        }
     }
 
     @Override
     public void trace(Marker marker, String msg, Throwable t) {
-        marker.add(formatMessage(getMessage(msg)));
-        root.trace(marker, msg, t);
+        if (root.isTraceEnabled(marker)) {
+            marker.add(formatMessage(Level.TRACE, msg));
+            root.trace(marker, msg, t);
+        }
     }
 
     @Override
     public void debug(String msg) {
-        root.debug(formatMessage(getMessage(msg)), msg);
+        if (root.isDebugEnabled()) {
+            root.debug(formatMessage(Level.DEBUG, msg), msg);
+        }
     }
 
     @Override
     public void debug(String format, Object arg) {
-        root.debug(formatMessage(getMessage(format)), format, arg);
+        if (root.isDebugEnabled()) {
+            root.debug(formatMessage(Level.DEBUG, format), format, arg);
+        }
     }
 
     @Override
     public void debug(String format, Object arg1, Object arg2) {
-        root.debug(formatMessage(getMessage(format)), format, arg1, arg2);
+        if (root.isDebugEnabled()) {
+            root.debug(formatMessage(Level.DEBUG, format), format, arg1, arg2);
+        }
     }
 
     @Override
     public void debug(String format, Object... arguments) {
-        root.debug(formatMessage(getMessage(format)), format, arguments);
+        if (root.isDebugEnabled()) {
+            root.debug(formatMessage(Level.DEBUG, format), format, arguments);
+        }
     }
 
     @Override
     public void debug(String msg, Throwable t) {
-        root.debug(formatMessage(getMessage(msg)), msg, t);
+        if (root.isDebugEnabled()) {
+            root.debug(formatMessage(Level.DEBUG, msg), msg, t);
+        }
     }
 
     @Override
     public void debug(Marker marker, String msg) {
-        marker.add(formatMessage(getMessage(msg)));
-        root.debug(marker, msg);
+        if (root.isDebugEnabled(marker)) {
+            marker.add(formatMessage(Level.DEBUG, msg));
+            root.debug(marker, msg);
+        }
     }
 
     @Override
     public void debug(Marker marker, String format, Object arg) {
-        marker.add(formatMessage(getMessage(format)));
-        root.debug(marker, format, arg);
+        if (root.isDebugEnabled(marker)) {
+            marker.add(formatMessage(Level.DEBUG, format));
+            root.debug(marker, format, arg);
+        }
     }
 
     @Override
     public void debug(Marker marker, String format, Object arg1, Object arg2) {
-        marker.add(formatMessage(getMessage(format)));
-        root.debug(marker, format, arg1, arg2);
+        if (root.isDebugEnabled(marker)) {
+            marker.add(formatMessage(Level.DEBUG, format));
+            root.debug(marker, format, arg1, arg2);
+        }
     }
 
     @Override
     public void debug(Marker marker, String format, Object... arguments) {
-        marker.add(formatMessage(getMessage(format)));
-        root.debug(marker, format, arguments);
+        if (root.isDebugEnabled(marker)) {
+            marker.add(formatMessage(Level.DEBUG, format));
+            root.debug(marker, format, arguments);
+        }
     }
 
     @Override
     public void debug(Marker marker, String msg, Throwable t) {
-        marker.add(formatMessage(getMessage(msg)));
-        root.debug(marker, msg, t);
+        if (root.isDebugEnabled(marker)) {
+            marker.add(formatMessage(Level.DEBUG, msg));
+            root.debug(marker, msg, t);
+        }
     }
 
     @Override
     public void info(String format, Object arg) {
-        root.info(formatMessage(getMessage(format)), format, arg);
+        if (root.isInfoEnabled()) {
+            root.info(formatMessage(Level.INFO, format), format, arg);
+        }
     }
 
     @Override
     public void info(String format, Object arg1, Object arg2) {
-        root.info(formatMessage(getMessage(format)), format, arg1, arg2);
+        if (root.isInfoEnabled()) {
+            root.info(formatMessage(Level.INFO, format), format, arg1, arg2);
+        }
     }
 
     @Override
     public void info(String format, Object... arguments) {
-        root.info(formatMessage(getMessage(format)), format, arguments);
+        if (root.isInfoEnabled()) {
+            root.info(formatMessage(Level.INFO, format), format, arguments);
+        }
     }
 
     @Override
     public void info(String msg, Throwable t) {
-        root.info(formatMessage(getMessage(msg)), msg, t);
+        if (root.isInfoEnabled()) {
+            root.info(formatMessage(Level.INFO, msg), msg, t);
+        }
     }
 
     @Override
     public void info(Marker marker, String msg) {
-        marker.add(formatMessage(getMessage(msg)));
-        root.info(marker, msg);
+        if (root.isInfoEnabled(marker)) {
+            marker.add(formatMessage(Level.INFO, msg));
+            root.info(marker, msg);
+        }
     }
 
     @Override
     public void info(Marker marker, String format, Object arg) {
-        marker.add(formatMessage(getMessage(format)));
-        root.info(marker, format, arg);
+        if (root.isInfoEnabled(marker)) {
+            marker.add(formatMessage(Level.INFO, format));
+            root.info(marker, format, arg);
+        }
     }
 
     @Override
     public void info(Marker marker, String format, Object arg1, Object arg2) {
-        marker.add(formatMessage(getMessage(format)));
-        root.info(marker, format, arg1, arg2);
+        if (root.isInfoEnabled(marker)) {
+            marker.add(formatMessage(Level.INFO, format));
+            root.info(marker, format, arg1, arg2);
+        }
     }
 
     @Override
     public void info(Marker marker, String format, Object... arguments) {
-        marker.add(formatMessage(getMessage(format)));
-        root.info(marker, format, arguments);
+        if (root.isInfoEnabled(marker)) {
+            marker.add(formatMessage(Level.INFO, format));
+            root.info(marker, format, arguments);
+        }
     }
 
     @Override
     public void info(Marker marker, String msg, Throwable t) {
-        marker.add(formatMessage(getMessage(msg)));
-        root.info(marker, msg, t);
+        if (root.isInfoEnabled(marker)) {
+            marker.add(formatMessage(Level.INFO, msg));
+            root.info(marker, msg, t);
+        }
     }
 
     @Override
     public void warn(String msg) {
-        root.warn(formatMessage(getMessage(msg)), msg);
+        if (root.isWarnEnabled()) {
+            root.warn(formatMessage(Level.WARN, msg), msg);
+        }
     }
 
     @Override
     public void warn(String format, Object arg) {
-        root.warn(formatMessage(getMessage(format)), format, arg);
+        if (root.isWarnEnabled()) {
+            root.warn(formatMessage(Level.WARN, format), format, arg);
+        }
     }
 
     @Override
     public void warn(String format, Object... arguments) {
-        root.warn(formatMessage(getMessage(format)), format, arguments);
+        if (root.isWarnEnabled()) {
+            root.warn(formatMessage(Level.WARN, format), format, arguments);
+        }
     }
 
     @Override
     public void warn(String format, Object arg1, Object arg2) {
-        root.warn(formatMessage(getMessage(format)), format, arg1, arg2);
+        if (root.isWarnEnabled()) {
+            root.warn(formatMessage(Level.WARN, format), format, arg1, arg2);
+        }
     }
 
     @Override
     public void warn(String msg, Throwable t) {
-        root.warn(formatMessage(getMessage(msg)), msg, t);
+        if (root.isWarnEnabled()) {
+            root.warn(formatMessage(Level.WARN, msg), msg, t);
+        }
     }
 
     @Override
     public void warn(Marker marker, String msg) {
-        marker.add(formatMessage(getMessage(msg)));
-        root.warn(marker, msg);
+        if (root.isWarnEnabled(marker)) {
+            marker.add(formatMessage(Level.WARN, msg));
+            root.warn(marker, msg);
+        }
     }
 
     @Override
     public void warn(Marker marker, String format, Object arg) {
-        marker.add(formatMessage(getMessage(format)));
-        root.warn(marker, format, arg);
+        if (root.isWarnEnabled(marker)) {
+            marker.add(formatMessage(Level.WARN, format));
+            root.warn(marker, format, arg);
+        }
     }
 
     @Override
     public void warn(Marker marker, String format, Object arg1, Object arg2) {
-        marker.add(formatMessage(getMessage(format)));
-        root.warn(marker, format, arg1, arg2);
+        if (root.isWarnEnabled(marker)) {
+            marker.add(formatMessage(Level.WARN, format));
+            root.warn(marker, format, arg1, arg2);
+        }
     }
 
     @Override
     public void warn(Marker marker, String format, Object... arguments) {
-        marker.add(formatMessage(getMessage(format)));
-        root.warn(marker, format, arguments);
+        if (root.isWarnEnabled(marker)) {
+            marker.add(formatMessage(Level.WARN, format));
+            root.warn(marker, format, arguments);
+        }
     }
 
     @Override
     public void warn(Marker marker, String msg, Throwable t) {
-        marker.add(formatMessage(getMessage(msg)));
-        root.warn(marker, msg, t);
+        if (root.isWarnEnabled(marker)) {
+            marker.add(formatMessage(Level.WARN, msg));
+            root.warn(marker, msg, t);
+        }
     }
 
     @Override
     public void error(String msg) {
-        root.error(formatMessage(getMessage(msg)), msg);
+        if (root.isErrorEnabled()) {
+            root.error(formatMessage(Level.ERROR, msg), msg);
+        }
     }
 
     @Override
     public void error(String format, Object arg) {
-        root.error(formatMessage(getMessage(format)), format, arg);
+        if (root.isErrorEnabled()) {
+            root.error(formatMessage(Level.ERROR, format), format, arg);
+        }
     }
 
     @Override
     public void error(String format, Object arg1, Object arg2) {
-        root.error(formatMessage(getMessage(format)), format, arg1, arg2);
+        if (root.isErrorEnabled()) {
+            root.error(formatMessage(Level.ERROR, format), format, arg1, arg2);
+        }
     }
 
     @Override
     public void error(String format, Object... arguments) {
-        root.error(formatMessage(getMessage(format)), format, arguments);
+        if (root.isErrorEnabled()) {
+            root.error(formatMessage(Level.ERROR, format), format, arguments);
+        }
     }
 
     @Override
     public void error(String msg, Throwable t) {
-        root.error(formatMessage(getMessage(msg)), msg, t);
+        if (root.isErrorEnabled()) {
+            root.error(formatMessage(Level.ERROR, msg), msg, t);
+        }
     }
 
     @Override
     public void error(Marker marker, String msg) {
-        marker.add(formatMessage(getMessage(msg)));
-        root.error(marker, msg);
+        if (root.isErrorEnabled(marker)) {
+            marker.add(formatMessage(Level.ERROR, msg));
+            root.error(marker, msg);
+        }
     }
 
     @Override
     public void error(Marker marker, String format, Object arg) {
-        marker.add(formatMessage(getMessage(format)));
-        root.error(marker, format, arg);
+        if (root.isErrorEnabled(marker)) {
+            marker.add(formatMessage(Level.ERROR, format));
+            root.error(marker, format, arg);
+        }
     }
 
     @Override
     public void error(Marker marker, String format, Object arg1, Object arg2) {
-        marker.add(formatMessage(getMessage(format)));
-        root.error(marker, format, arg1, arg2);
+        if (root.isErrorEnabled(marker)) {
+            marker.add(formatMessage(Level.ERROR, format));
+            root.error(marker, format, arg1, arg2);
+        }
     }
 
     @Override
     public void error(Marker marker, String format, Object... arguments) {
-        marker.add(formatMessage(getMessage(format)));
-        root.error(marker, format, arguments);
+        if (root.isErrorEnabled(marker)) {
+            marker.add(formatMessage(Level.ERROR, format));
+            root.error(marker, format, arguments);
+        }
     }
 
     @Override
     public void error(Marker marker, String msg, Throwable t) {
-        marker.add(formatMessage(getMessage(msg)));
-        root.error(marker, msg, t);
+        if (root.isErrorEnabled(marker)) {
+            marker.add(formatMessage(Level.ERROR, msg));
+            root.error(marker, msg, t);
+        }
     }
 
     @Override
     public void error(Throwable t, String format, Object... args) {
-        FormattingTuple ft = MessageFormatter.arrayFormat(format, args);
-        root.error(formatMessage(getMessage(ft.getMessage())), ft.getMessage(), t);
+        if (root.isErrorEnabled()) {
+            FormattingTuple ft = MessageFormatter.arrayFormat(format, args);
+            root.error(formatMessage(Level.ERROR, format, ft.getMessage()), ft.getMessage(), t);
+        }
     }
 
     @Override
     public void warn(final Throwable t, final String format, final Object... args) {
-        FormattingTuple ft = MessageFormatter.arrayFormat(format, args);
-        root.warn(formatMessage(getMessage(ft.getMessage())), ft.getMessage(), t);
+        if (root.isWarnEnabled()) {
+            FormattingTuple ft = MessageFormatter.arrayFormat(format, args);
+            root.warn(formatMessage(Level.WARN, format, ft.getMessage()), ft.getMessage(), t);
+        }
     }
 
     @Override public void success(final String format, final Object... args) {
-        successMarker.add(formatMessage(getMessage(format)));
-        info(successMarker, format, args);
+        if (root.isInfoEnabled(successMarker)) {
+            successMarker.add(formatMessage(getMessage(Level.INFO, format)));
+            info(successMarker, format, args);
+        }
     }
 
     @Override public void dashboard(final String format, final Object... args) {
-        successMarker.add(formatMessage(getMessage(format)));
-        info(dashboardMarker, format, args);
+        if (root.isInfoEnabled(dashboardMarker)) {
+            successMarker.add(formatMessage(getMessage(Level.INFO, format)));
+            info(dashboardMarker, format, args);
+        }
     }
 }
@@ -22,27 +22,43 @@
 
 package com.godaddy.logging.messagebuilders;
 
+import com.godaddy.logging.CommonKeys;
+import com.godaddy.logging.LimitingCollectionFilter;
 import com.godaddy.logging.LogContext;
 import com.godaddy.logging.LogMessage;
 import com.godaddy.logging.LoggerMessageBuilder;
 import com.godaddy.logging.LoggingConfigs;
+import com.godaddy.logging.PrimitiveArrays;
+import com.godaddy.logging.ProxyClasses;
+import com.godaddy.logging.RenderCache;
 import com.godaddy.logging.RunningLogContext;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
+import com.google.common.primitives.Primitives;
 
 import java.lang.reflect.Array;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.Stack;
 
 import static java.util.stream.Collectors.toList;
 
 public class JsonMessageBuilder extends LoggerMessageBuilder<List<Map<String, Object>>> {
 
+    private static final Class<?> FROZEN_MAP = Collections.unmodifiableMap(new LinkedHashMap<>()).getClass();
+
+    private static final Class<?> FROZEN_LIST = Collections.unmodifiableList(new ArrayList<>()).getClass();
+
     private final Stack<Map<String, Object>> messageBuilderStack = new Stack<>();
 
 
@@ -62,11 +78,13 @@ public class JsonMessageBuilder extends LoggerMessageBuilder<List<Map<String, Ob
     }
 
     private RunningLogContext<List<Map<String, Object>>> buildMessage(final LogContext<List<Map<String, Object>>> previous, final Object currentObject, String key) {
+        joinBudget(previous);
+
         if (currentObject == null) {
-            return JsonContextUtils.initialToRunning(previous);
+            return passBudget(JsonContextUtils.initialToRunning(previous));
         }
 
-        buildMessage(currentObject, new ArrayList<>(), key);
+        buildRootMessage(currentObject, new ArrayList<>(), key);
 
         RunningLogContext<List<Map<String, Object>>> nextContext = JsonContextUtils.initialToRunning(previous);
 
@@ -76,7 +94,7 @@ public class JsonMessageBuilder extends LoggerMessageBuilder<List<Map<String, Ob
 
         nextContext.getData().add(messageBuilderStack.peek());
 
-        return nextContext;
+        return passBudget(nextContext);
     }
 
     @Override protected void processNull(String currentField) {
@@ -85,7 +103,11 @@ public class JsonMessageBuilder extends LoggerMessageBuilder<List<Map<String, Ob
 
     @Override protected void processLogMessage(final LogMessage logMessage) {
         logMessage.keySet().stream().forEach(key -> {
-            JsonMessageBuilder jsonMessageBuilder = new JsonMessageBuilder(configs);
+            if (isBudgetExhausted()) {
+                return;
+            }
+
+            JsonMessageBuilder jsonMessageBuilder = child(new JsonMessageBuilder(configs));
 
             if(logMessage.get(key) == null) {
                 messageBuilderStack.peek().put(key, null);
@@ -134,18 +156,101 @@ public class JsonMessageBuilder extends LoggerMessageBuilder<List<Map<String, Ob
     }
 
     @Override protected void processArray(final String currentField, final Object array) {
+        if (canWriteDirectly(array)) {
+            processPrimitiveArray(currentField, array);
+            return;
+        }
+
+        filterAndProcessCollection(currentField, array instanceof Object[] ? Arrays.asList((Object[]) array) : new ArrayView(array));
+    }
+
+    /**
+     * Primitive arrays are written as truncated primitive arrays when rendering them element by element could not
+     * produce anything different: the collection filter is a plain limit and no custom mapper applies to the elements.
+     */
+    private boolean canWriteDirectly(Object array) {
+        return PrimitiveArrays.isPrimitiveArray(array) &&
+               configs.getCollectionFilter() instanceof LimitingCollectionFilter &&
+               !configs.findCustomMapper(Primitives.wrap(array.getClass().getComponentType())).isPresent();
+    }
+
+    /**
+     * Arrays within the limit and the budget are written as is. Otherwise their elements are boxed into a list ending
+     * with the same markers a truncated collection gets.
+     */
+    private void processPrimitiveArray(String currentField, Object array) {
+        int limit = ((LimitingCollectionFilter) configs.getCollectionFilter()).getLimit();
+
         int length = Array.getLength(array);
 
-        List<Object> objects = Lists.newArrayList();
+        Object truncated = PrimitiveArrays.truncate(array, limit);
+
+        if (Array.getLength(truncated) == 0) {
+            messageBuilderStack.peek().put(currentField, length == 0 ? truncated : Lists.newArrayList(truncatedMarker(length)));
+            return;
+        }
+
+        // elements rendered one by one would be one level deeper, and cut off past the recursive level
+        currentRecursiveLevel++;
+
+        if (currentRecursiveLevel > configs.getRecursiveLevel()) {
+            messageBuilderStack.peek().put(currentField, new ArrayList<>());
+            return;
+        }
+
+        int rendered = primitiveElementsRendered(truncated);
 
-        for (int i = 0; i < length; i++) {
-            objects.add(Array.get(array, i));
+        if (rendered == length) {
+            messageBuilderStack.peek().put(currentField, truncated);
+            return;
         }
 
-        filterAndProcessCollection(currentField, objects);
+        List<Object> items = new ArrayList<>(new ArrayView(truncated).subList(0, rendered));
+
+        if (rendered < Array.getLength(truncated)) {
+            String marker = budget.claimMarker();
+
+            if (marker != null) {
+                items.add(marker);
+            }
+        }
+
+        if (length > limit) {
+            items.add(truncatedMarker(length));
+        }
+
+        messageBuilderStack.peek().put(currentField, items);
+    }
+
+    private static String truncatedMarker(int size) {
+        return CommonKeys.TRUNCATED_MARKER + " (" + size + " total)";
     }
 
+    /**
+     * With the default collection filter, elements are read straight from the collection up to the limit, so a large
+     * collection costs no more than the elements logged. A truncated collection ends with a marker holding its size.
+     */
     private void filterAndProcessCollection(String currentField, Collection collection) {
+        if (configs.getCollectionFilter() instanceof LimitingCollectionFilter) {
+            int size = collection.size();
+
+            if (size == 0) {
+                messageBuilderStack.peek().put(currentField, new ArrayList<>());
+                return;
+            }
+
+            int limit = ((LimitingCollectionFilter) configs.getCollectionFilter()).getLimit();
+
+            List<Object> items = processElements(collection.iterator(), limit);
+
+            if (size > limit) {
+                items.add(truncatedMarker(size));
+            }
+
+            messageBuilderStack.peek().put(currentField, items);
+            return;
+        }
+
         collection = configs.getCollectionFilter().apply(collection);
 
         if(collection.size() == 0) {
@@ -153,40 +258,134 @@ public class JsonMessageBuilder extends LoggerMessageBuilder<List<Map<String, Ob
             return;
         }
 
+        messageBuilderStack.peek().put(currentField, processElements(collection.iterator(), Integer.MAX_VALUE));
+    }
+
+    private List<Object> processElements(Iterator<?> elements, int limit) {
         currentRecursiveLevel++;
 
-        List<Object> items = Arrays.stream(collection.toArray())
-                                   .flatMap(i -> {
-                                       JsonMessageBuilder jsonMessageBuilder = new JsonMessageBuilder(configs, currentRecursiveLevel);
+        if (configs.getRenderPool() != null) {
+            List<Object> buffered = new ArrayList<>();
 
-                                       List<Map<String, Object>> data = jsonMessageBuilder.buildMessage(null, i).getData();
+            for (int i = 0; i < limit && elements.hasNext(); i++) {
+                buffered.add(elements.next());
+            }
 
-                                       return data.stream();
-                                   })
-                                   .flatMap(i -> i.values().stream())
-                                   .collect(toList());
+            if (shouldRenderInParallel(buffered)) {
+                return processElementsInParallel(buffered);
+            }
 
-        messageBuilderStack.peek().put(currentField, items);
+            elements = buffered.iterator();
+        }
+
+        List<Object> items = new ArrayList<>();
+
+        for (int i = 0; i < limit && elements.hasNext() && !isBudgetExhausted(); i++) {
+            items.addAll(renderElement(child(new JsonMessageBuilder(configs, currentRecursiveLevel)), elements.next()));
+        }
+
+        return items;
+    }
+
+    private boolean shouldRenderInParallel(List<Object> elements) {
+        return elements.size() >= configs.getParallelRenderingMinSize() &&
+               (long) elements.size() * estimateMembers(elements.get(0)) >= configs.getParallelRenderingMinCost();
+    }
+
+    /**
+     * Renders elements across the configured pool and merges them in their original order. Element renders are not
+     * counted in the RenderProfiler sample, whose counters are not thread safe, the total render time still is.
+     */
+    private List<Object> processElementsInParallel(List<Object> elements) {
+        int level = currentRecursiveLevel;
+
+        try {
+            return configs.getRenderPool()
+                          .submit(() -> elements.parallelStream()
+                                                .map(element -> renderElement(detachedChild(new JsonMessageBuilder(configs, level)), element))
+                                                .flatMap(Collection::stream)
+                                                .collect(toList()))
+                          .get();
+        }
+        catch (InterruptedException e) {
+            // keep the interrupt for the caller and render on its thread instead
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+
+            throw new IllegalStateException(e.getCause());
+        }
+
+        List<Object> items = new ArrayList<>();
+
+        for (Object element : elements) {
+            items.addAll(renderElement(child(new JsonMessageBuilder(configs, level)), element));
+        }
+
+        return items;
+    }
+
+    private static Collection<Object> renderElement(JsonMessageBuilder jsonMessageBuilder, Object element) {
+        List<Map<String, Object>> data = jsonMessageBuilder.buildMessage(null, element).getData();
+
+        if (data.size() == 1) {
+            return data.get(0).values();
+        }
+
+        List<Object> values = new ArrayList<>();
+
+        for (Map<String, Object> map : data) {
+            values.addAll(map.values());
+        }
+
+        return values;
     }
 
+    /**
+     * With the default collection filter, entries are read from the entry set up to the map limit. A truncated map
+     * gets an extra {@link CommonKeys#TOTAL_SIZE_KEY} entry holding its size.
+     */
     @Override protected void processMap(String currentField, Map map) {
-        Map<String, Object> builtMap = new HashMap<>();
+        Map<String, Object> builtMap = new LinkedHashMap<>();
+
+        if (configs.getCollectionFilter() instanceof LimitingCollectionFilter) {
+            Iterator<Map.Entry<?, ?>> entries = map.entrySet().iterator();
 
-        Collection keySet = configs.getCollectionFilter().apply(map.keySet());
+            for (int i = 0; i < configs.getMapLimit() && entries.hasNext() && !isBudgetExhausted(); i++) {
+                Map.Entry<?, ?> entry = entries.next();
 
-        for (Object key : keySet) {
-            if (map.get(key) == null) {
-                builtMap.put(key.toString(), null);
-                continue;
+                processMapEntry(builtMap, entry.getKey(), entry.getValue());
             }
-            List<Map<String, Object>> data = new JsonMessageBuilder(configs).buildMessage(null, map.get(key)).getData();
 
-            builtMap.put(key.toString(), process(data));
+            if (map.size() > configs.getMapLimit()) {
+                builtMap.put(CommonKeys.TOTAL_SIZE_KEY, map.size());
+            }
+        }
+        else {
+            for (Object key : configs.getCollectionFilter().apply(map.keySet())) {
+                if (isBudgetExhausted()) {
+                    break;
+                }
+
+                processMapEntry(builtMap, key, map.get(key));
+            }
         }
 
         messageBuilderStack.peek().put(currentField, builtMap);
     }
 
+    private void processMapEntry(Map<String, Object> builtMap, Object key, Object value) {
+        if (value == null) {
+            builtMap.put(key.toString(), null);
+            return;
+        }
+
+        List<Map<String, Object>> data = child(new JsonMessageBuilder(configs)).buildMessage(null, value).getData();
+
+        builtMap.put(key.toString(), process(data));
+    }
+
     @Override protected void processString(String currentField, String str) {
         messageBuilderStack.peek().put(currentField, str);
     }
@@ -199,22 +398,60 @@ public class JsonMessageBuilder extends LoggerMessageBuilder<List<Map<String, Ob
         messageBuilderStack.peek().put(currentField, obj);
     }
 
+    /**
+     * Immutable objects are rendered once per recursive level, later renders reuse the fragment from the configs'
+     * {@link RenderCache}. Fragments in which an object was skipped as already processed depend on what was rendered
+     * before them and are not cached. The cache is read once, so a fragment rendered while a custom mapper is being
+     * registered goes to the cache the mapper replaces. Under an event budget a fragment is only reused if what it
+     * cost still fits, and fragments cut short by the budget are not cached. Projected renders are not cached either.
+     */
     @Override protected boolean processObject(Object obj, List<String> path, String currentField) {
-        messageBuilderStack.push(new HashMap<>());
+        boolean immutable = configs.isImmutable(obj.getClass()) && !isProjected();
 
-        if (super.processObject(obj, path, currentField)) {
-            final Map<String, Object> pop = messageBuilderStack.pop();
+        int level = currentRecursiveLevel;
 
-            if (Strings.isNullOrEmpty(currentField)) {
-                currentField = obj.getClass().getSimpleName();
-            }
+        RenderCache renderCache = immutable ? configs.getRenderCache() : null;
+
+        if (immutable) {
+            RenderCache.Fragment fragment = renderCache.get(obj, level);
+
+            if (fragment != null && (budget == null || budget.fits(fragment.getNodes(), fragment.getChars())) && replay(obj, fragment)) {
+                if (budget != null) {
+                    budget.charge(fragment.getNodes(), fragment.getChars());
+                }
+
+                putObject(obj, currentField, (Map<String, Object>) fragment.getRendered());
 
-            if (currentField.equals("")) {
-                messageBuilderStack.peek().putAll(pop);
+                return true;
             }
-            else {
-                messageBuilderStack.peek().put(currentField, pop);
+        }
+
+        int processedObjects = getProcessedObjectCount();
+
+        int cyclesCut = getCyclesCut();
+
+        int nodes = budget == null ? 0 : budget.getNodes();
+
+        long chars = budget == null ? 0 : budget.getChars();
+
+        // members are put in the order of the render plan, which the text provider relies on instead of sorting
+        messageBuilderStack.push(new LinkedHashMap<>());
+
+        if (super.processObject(obj, path, currentField)) {
+            Map<String, Object> pop = messageBuilderStack.pop();
+
+            if (immutable && getCyclesCut() == cyclesCut && !isBudgetExhausted()) {
+                // the cached copy is replayed into later events, so neither it nor the event it is first put in may change it
+                pop = freeze(pop);
+
+                renderCache.put(obj, level, new RenderCache.Fragment(pop, currentRecursiveLevel - level,
+                                                                     // the object itself is the first one processed
+                                                                     getProcessedObjectsSince(processedObjects + 1),
+                                                                     budget == null ? 0 : budget.getNodes() - nodes,
+                                                                     budget == null ? 0 : budget.getChars() - chars));
             }
+
+            putObject(obj, currentField, pop);
         }
         /**
          * If the object wasn't processed (cycle detected), the empty map created must be popped off the stack.
@@ -226,13 +463,58 @@ public class JsonMessageBuilder extends LoggerMessageBuilder<List<Map<String, Ob
         return true;
     }
 
+    private void putObject(Object obj, String currentField, Map<String, Object> rendered) {
+        if (Strings.isNullOrEmpty(currentField)) {
+            currentField = ProxyClasses.unwrap(obj.getClass()).getSimpleName();
+        }
+
+        if (currentField.equals("")) {
+            messageBuilderStack.peek().putAll(rendered);
+        }
+        else {
+            messageBuilderStack.peek().put(currentField, rendered);
+        }
+    }
+
+    /**
+     * Copies a rendered map, and the maps and lists nested in it, into read only views. Fragments already frozen by the render
+     * cache are shared as is.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> freeze(Map<String, Object> rendered) {
+        if (rendered.getClass() == FROZEN_MAP) {
+            return rendered;
+        }
+
+        Map<String, Object> copy = new LinkedHashMap<>(rendered);
+
+        copy.replaceAll((key, value) -> freezeValue(value));
+
+        return Collections.unmodifiableMap(copy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object freezeValue(Object value) {
+        if (value instanceof Map) {
+            return freeze((Map<String, Object>) value);
+        }
+
+        if (value instanceof List && value.getClass() != FROZEN_LIST && !(value instanceof ArrayView)) {
+            List<Object> copy = new ArrayList<>((List<Object>) value);
+
+            copy.replaceAll(JsonMessageBuilder::freezeValue);
+
+            return Collections.unmodifiableList(copy);
+        }
+
+        return value;
+    }
+
     @Override protected void processCustomImpl(final String currentField, final String message) {
         messageBuilderStack.peek().put(currentField, message);
     }
 
     @Override protected String formatMethod(List<String> path, String currentField) {
-        currentField = trimMethodOfPrefix(currentField);
-
         path.add(currentField);
 
         return currentField;
@@ -242,4 +524,23 @@ public class JsonMessageBuilder extends LoggerMessageBuilder<List<Map<String, Ob
         return fieldName;
     }
 
+    /**
+     * Read only view of an array of primitives, elements are boxed as they are read.
+     */
+    private static class ArrayView extends AbstractList<Object> {
+        private final Object array;
+
+        ArrayView(Object array) {
+            this.array = array;
+        }
+
+        @Override public Object get(int index) {
+            return Array.get(array, index);
+        }
+
+        @Override public int size() {
+            return Array.getLength(array);
+        }
+    }
+
 }
@@ -61,8 +61,10 @@ public class StringMessageBuilder extends LoggerMessageBuilder<String> {
     @Override
     public RunningLogContext<String> buildMessage(final LogContext<String> previous, final Object currentObject) {
 
+        joinBudget(previous);
+
         if (currentObject == null) {
-            return initialToRunning(previous);
+            return passBudget(initialToRunning(previous));
         }
 
         if (previous != null) {
@@ -73,7 +75,7 @@ public class StringMessageBuilder extends LoggerMessageBuilder<String> {
         }
 
         try {
-            buildMessage(currentObject, new ArrayList<>(), "");
+            buildRootMessage(currentObject, new ArrayList<>(), "");
 
             trimLastSeparator();
         }
@@ -81,7 +83,7 @@ public class StringMessageBuilder extends LoggerMessageBuilder<String> {
             messageBuilder.append(configs.getExceptionTranslator().translate(t));
         }
 
-        return new RunningLogContext<>(messageBuilder.toString());
+        return passBudget(new RunningLogContext<>(messageBuilder.toString()));
     }
 
     private void trimLastSeparator() {
@@ -100,7 +102,11 @@ public class StringMessageBuilder extends LoggerMessageBuilder<String> {
         map.keySet()
            .stream()
            .forEach(key -> {
-               final RunningLogContext<String> runningLogContext = new StringMessageBuilder(configs).buildMessage(null, map.get(key));
+               if (isBudgetExhausted()) {
+                   return;
+               }
+
+               final RunningLogContext<String> runningLogContext = child(new StringMessageBuilder(configs)).buildMessage(null, map.get(key));
 
                messageBuilder.append(String.format("%s=%s", key, runningLogContext == null ? "<null>" : runningLogContext.getData()))
                              .append(SEPARATOR);
@@ -24,11 +24,11 @@ package com.godaddy.logging.messagebuilders.providers;
 
 import com.godaddy.logging.CommonKeys;
 import com.godaddy.logging.LogContext;
+import com.godaddy.logging.PrimitiveArrays;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 public class StringMessageBuilderProvider extends JsonMessageBuilderProvider {
 
@@ -52,14 +52,17 @@ public class StringMessageBuilderProvider extends JsonMessageBuilderProvider {
             // Clear out the message builder.
             messageBuilder.setLength(0);
 
-            // Leveraging TreeMap so that log data is consistently sorted.
-            Map<String, Object> jsonMap = new TreeMap<>();
+            addLogMessageToFormattedString(contextMap);
 
-            jsonMap.putAll(contextMap);
+            // Only the top level keys are sorted so that log data is consistently ordered, objects nested below them
+            // already come in the sorted member order of their class.
+            String[] keys = contextMap.keySet().toArray(new String[contextMap.size()]);
 
-            addLogMessageToFormattedString(jsonMap);
+            Arrays.sort(keys);
 
-            buildFormattedContext(0, jsonMap, "");
+            for (String key : keys) {
+                appendEntry(0, key, contextMap.get(key), "");
+            }
 
             trimLastSeparator();
 
@@ -88,28 +91,32 @@ public class StringMessageBuilderProvider extends JsonMessageBuilderProvider {
         }
 
         private void buildFormattedContext(int currentLevel, Map<String, Object> jsonMap, String prefix) {
-            for (String key : jsonMap.keySet()) {
-                if (jsonMap.get(key) instanceof HashMap) {
-                    String recursivePrefix = prefix.equals("") ? key + "." : prefix + key + ".";
-                    buildFormattedContext(currentLevel + 1, (Map<String, Object>) jsonMap.get(key), recursivePrefix);
+            for (Map.Entry<String, Object> entry : jsonMap.entrySet()) {
+                appendEntry(currentLevel, entry.getKey(), entry.getValue(), prefix);
+            }
+        }
+
+        private void appendEntry(int currentLevel, String key, Object value, String prefix) {
+            if (value instanceof Map) {
+                buildFormattedContext(currentLevel + 1, (Map<String, Object>) value, prefix + key + ".");
+            }
+            else if (!prefix.isEmpty() || (!key.equals(CommonKeys.LOG_MESSAGE_KEY) && !key.equals(CommonKeys.UNNAMED_VALUES_KEY))) {
+                messageBuilder.append(prefix).append(key).append("=");
+
+                if (value == null) {
+                    messageBuilder.append("<null>");
+                }
+                else if (value instanceof String) {
+                    messageBuilder.append("\"" + value + "\"");
                 }
-                else if (!prefix.isEmpty() || (!key.equals(CommonKeys.LOG_MESSAGE_KEY) && !key.equals(CommonKeys.UNNAMED_VALUES_KEY))) {
-                    messageBuilder.append(prefix).append(key).append("=");
-
-                    Object value = jsonMap.get(key);
-
-                    if (value == null) {
-                        messageBuilder.append("<null>");
-                    }
-                    else if (value instanceof String) {
-                        messageBuilder.append("\"" + value + "\"");
-                    }
-                    else {
-                        messageBuilder.append(value);
-                    }
-
-                    messageBuilder.append(SEPARATOR);
+                else if (value.getClass().isArray()) {
+                    PrimitiveArrays.appendTo(messageBuilder, value);
                 }
+                else {
+                    messageBuilder.append(value);
+                }
+
+                messageBuilder.append(SEPARATOR);
             }
         }
     }
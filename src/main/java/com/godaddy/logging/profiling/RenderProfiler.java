@@ -0,0 +1,291 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.profiling;
+
+import com.godaddy.logging.LogMessage;
+import com.godaddy.logging.Projected;
+import com.godaddy.logging.ProxyClasses;
+
+import javax.management.ObjectName;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Opt-in profiler recording how expensive it is to render the objects passed to {@code with(...)}. Configure it with
+ * {@code LoggingConfigs.withRenderProfiler} and publish it with {@link #register(String)} to read it from any JMX
+ * console.
+ *
+ * Costs are kept per top-level logged class and, when call site tracking is on, per line of code calling the logger.
+ * Call site tracking captures a stack trace per event and should be used while investigating, not left on.
+ *
+ * Getters that throw are counted per class and getter, along with the calls a {@code FailingGetterCache} saved them.
+ */
+public class RenderProfiler implements RenderProfilerMXBean {
+    public static final String OBJECT_NAME_PREFIX = "com.godaddy.logging:type=RenderProfiler,name=";
+
+    private static final String[] INTERNAL_PREFIXES = {
+            "com.godaddy.logging.logger.",
+            "com.godaddy.logging.messagebuilders.",
+            "com.godaddy.logging.profiling.",
+            "com.godaddy.logging.LoggerMessageBuilder",
+            "com.godaddy.logging.Slf4WrapperLogger",
+            "java.",
+            "sun.",
+            "jdk."
+    };
+
+    private final ConcurrentHashMap<String, Accumulator> classCosts = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Accumulator> callSiteCosts = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, FailureAccumulator> getterFailures = new ConcurrentHashMap<>();
+
+    private final boolean callSiteTracking;
+
+    private ObjectName objectName;
+
+    public RenderProfiler() {
+        this(false);
+    }
+
+    public RenderProfiler(boolean callSiteTracking) {
+        this.callSiteTracking = callSiteTracking;
+    }
+
+    /**
+     * Starts a sample for the top-level object of a render.
+     */
+    public RenderSample start(Object root) {
+        return new RenderSample(className(root), callSiteTracking ? callSite() : null, System.nanoTime());
+    }
+
+    public void record(RenderSample sample) {
+        long elapsed = System.nanoTime() - sample.getStartNanos();
+
+        classCosts.computeIfAbsent(sample.getClassName(), Accumulator::new).add(sample, elapsed);
+
+        if (sample.getCallSite() != null) {
+            callSiteCosts.computeIfAbsent(sample.getCallSite(), Accumulator::new).add(sample, elapsed);
+        }
+    }
+
+    /**
+     * Records that a getter threw while being logged.
+     */
+    public void recordGetterFailure(Class<?> clazz, String getter, Throwable t) {
+        FailureAccumulator accumulator = failureAccumulator(clazz, getter);
+
+        accumulator.failures.increment();
+        accumulator.lastException = t.getClass().getName();
+    }
+
+    /**
+     * Records that a getter was not called because its failure was cached.
+     */
+    public void recordCachedFailure(Class<?> clazz, String getter) {
+        failureAccumulator(clazz, getter).cachedHits.increment();
+    }
+
+    /**
+     * @return the cost recorded for a class, if it has been logged since the last reset
+     */
+    public Optional<RenderCost> getClassCost(Class<?> clazz) {
+        return Optional.ofNullable(classCosts.get(clazz.getName())).map(Accumulator::snapshot);
+    }
+
+    @Override public List<RenderCost> getClassCosts() {
+        return snapshot(classCosts);
+    }
+
+    @Override public List<RenderCost> getCallSiteCosts() {
+        return snapshot(callSiteCosts);
+    }
+
+    @Override public List<GetterFailure> getGetterFailures() {
+        return getterFailures.values()
+                             .stream()
+                             .map(FailureAccumulator::snapshot)
+                             .sorted(Comparator.comparingLong(GetterFailure::getFailures).reversed())
+                             .collect(toList());
+    }
+
+    @Override public boolean isCallSiteTracking() {
+        return callSiteTracking;
+    }
+
+    @Override public void reset() {
+        classCosts.clear();
+        callSiteCosts.clear();
+        getterFailures.clear();
+    }
+
+    /**
+     * Registers this profiler with the platform MBean server under {@link #OBJECT_NAME_PREFIX} + name.
+     *
+     * @param name name distinguishing this profiler from others in the same JVM
+     * @return this profiler
+     */
+    public synchronized RenderProfiler register(String name) {
+        objectName = MBeans.register(this, OBJECT_NAME_PREFIX, name);
+
+        return this;
+    }
+
+    public synchronized void unregister() {
+        try {
+            MBeans.unregister(objectName);
+        }
+        finally {
+            objectName = null;
+        }
+    }
+
+    private static List<RenderCost> snapshot(ConcurrentHashMap<String, Accumulator> costs) {
+        return costs.values()
+                    .stream()
+                    .map(Accumulator::snapshot)
+                    .sorted(Comparator.comparingLong(RenderCost::getTotalRenderNanos).reversed())
+                    .collect(toList());
+    }
+
+    private FailureAccumulator failureAccumulator(Class<?> clazz, String getter) {
+        String className = ProxyClasses.unwrap(clazz).getName();
+
+        return getterFailures.computeIfAbsent(className + "#" + getter, k -> new FailureAccumulator(className, getter));
+    }
+
+    /**
+     * A with(key, value) call arrives as a single entry LogMessage, attribute it to the value's class instead. Proxies
+     * are attributed to the class they proxy, projected values to their own class.
+     */
+    private static String className(Object root) {
+        if (root instanceof Projected) {
+            return className(((Projected) root).getValue());
+        }
+
+        if (root instanceof LogMessage && ((LogMessage) root).size() == 1) {
+            Object value = ((LogMessage) root).values().iterator().next();
+
+            return value == null ? LogMessage.class.getName() : ProxyClasses.unwrap(value.getClass()).getName();
+        }
+
+        return root == null ? "null" : ProxyClasses.unwrap(root.getClass()).getName();
+    }
+
+    private static String callSite() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (!isInternal(element.getClassName())) {
+                return element.toString();
+            }
+        }
+
+        return "<unknown>";
+    }
+
+    private static boolean isInternal(String className) {
+        for (String prefix : INTERNAL_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static class FailureAccumulator {
+        private final String className;
+
+        private final String getter;
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder cachedHits = new LongAdder();
+
+        private volatile String lastException;
+
+        FailureAccumulator(String className, String getter) {
+            this.className = className;
+            this.getter = getter;
+        }
+
+        GetterFailure snapshot() {
+            return new GetterFailure(className, getter, lastException, failures.sum(), cachedHits.sum());
+        }
+    }
+
+    private static class Accumulator {
+        private final String name;
+
+        private final LongAdder invocations = new LongAdder();
+
+        private final LongAdder renderNanos = new LongAdder();
+
+        private final LongAdder getterCalls = new LongAdder();
+
+        private final LongAdder valuesRendered = new LongAdder();
+
+        private final LongAdder outputChars = new LongAdder();
+
+        private final LongAdder exceptionsSwallowed = new LongAdder();
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        Accumulator(String name) {
+            this.name = name;
+        }
+
+        void add(RenderSample sample, long elapsedNanos) {
+            invocations.increment();
+            renderNanos.add(elapsedNanos);
+            getterCalls.add(sample.getGetterCalls());
+            valuesRendered.add(sample.getValuesRendered());
+            outputChars.add(sample.getOutputChars());
+            exceptionsSwallowed.add(sample.getExceptionsSwallowed());
+            latencies.record(elapsedNanos);
+        }
+
+        RenderCost snapshot() {
+            long count = invocations.sum();
+
+            long total = renderNanos.sum();
+
+            return new RenderCost(name,
+                                  count,
+                                  total,
+                                  count == 0 ? 0 : total / count,
+                                  latencies.getPercentile(50),
+                                  latencies.getPercentile(99),
+                                  latencies.getPercentile(99.9),
+                                  latencies.getMax(),
+                                  getterCalls.sum(),
+                                  valuesRendered.sum(),
+                                  outputChars.sum(),
+                                  exceptionsSwallowed.sum());
+        }
+    }
+}
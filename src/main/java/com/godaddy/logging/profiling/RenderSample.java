@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.profiling;
+
+import lombok.Getter;
+
+/**
+ * Counters for a single top-level render. A sample is only touched by the thread doing the render and is handed to
+ * {@link RenderProfiler#record(RenderSample)} once the render is done.
+ */
+@Getter
+public class RenderSample {
+    private final String className;
+
+    private final String callSite;
+
+    private final long startNanos;
+
+    private int getterCalls;
+
+    private int valuesRendered;
+
+    private int exceptionsSwallowed;
+
+    private long outputChars;
+
+    RenderSample(final String className, final String callSite, final long startNanos) {
+        this.className = className;
+        this.callSite = callSite;
+        this.startNanos = startNanos;
+    }
+
+    public void getterCalled() {
+        getterCalls++;
+    }
+
+    /**
+     * @param chars length of the field name and the rendered value, an estimate of the output size independent of
+     *              the output format
+     */
+    public void valueRendered(int chars) {
+        valuesRendered++;
+        outputChars += chars;
+    }
+
+    public void exceptionSwallowed() {
+        exceptionsSwallowed++;
+    }
+}
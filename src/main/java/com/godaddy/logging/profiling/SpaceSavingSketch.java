@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.profiling;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Weighted Space-Saving summary (Metwally et al.) keeping at most capacity counters. Once full, a new key takes over
+ * the smallest counter and inherits its count as error, so every reported count is an over estimate by at most its
+ * error, and any key heavier than total / capacity is guaranteed to be present.
+ *
+ * Counters are also kept ordered by count, so adding a key costs O(log capacity) whether or not it evicts another.
+ */
+class SpaceSavingSketch<K> {
+    private final int capacity;
+
+    private final Map<K, Counter<K>> counters;
+
+    /** The counters, smallest count first, ties in the order the counters were created. */
+    private final TreeSet<Counter<K>> byCount = new TreeSet<>(Comparator.comparingLong((Counter<K> c) -> c.count)
+                                                                        .thenComparingLong(c -> c.sequence));
+
+    private long nextSequence;
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    synchronized void add(K key, long weight) {
+        Counter<K> counter = counters.get(key);
+
+        if (counter != null) {
+            byCount.remove(counter);
+
+            counter.count += weight;
+
+            byCount.add(counter);
+            return;
+        }
+
+        if (counters.size() < capacity) {
+            counter = new Counter<>(key, weight, 0, nextSequence++);
+
+            counters.put(key, counter);
+            byCount.add(counter);
+            return;
+        }
+
+        Counter<K> min = byCount.pollFirst();
+
+        counters.remove(min.key);
+
+        min.key = key;
+        min.error = min.count;
+        min.count += weight;
+
+        counters.put(key, min);
+        byCount.add(min);
+    }
+
+    /**
+     * Adds the count and error of every key in this sketch to the given totals.
+     */
+    synchronized void mergeInto(Map<K, long[]> totals) {
+        counters.forEach((key, counter) -> {
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+
+            total[0] += counter.count;
+            total[1] += counter.error;
+        });
+    }
+
+    synchronized void clear() {
+        counters.clear();
+        byCount.clear();
+    }
+
+    private static class Counter<K> {
+        K key;
+
+        long count;
+
+        long error;
+
+        final long sequence;
+
+        Counter(K key, long count, long error, long sequence) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+            this.sequence = sequence;
+        }
+    }
+}
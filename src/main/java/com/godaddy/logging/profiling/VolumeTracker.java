@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging.profiling;
+
+import lombok.Value;
+import org.slf4j.event.Level;
+
+import javax.management.ObjectName;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Opt-in, bounded memory accounting of log volume per logger name, level and message template. Configure it with
+ * {@code LoggingConfigs.withVolumeTracker} and read the heaviest statements on demand, or publish it with
+ * {@link #register(String)} to read them from any JMX console.
+ *
+ * Threads record into one of a fixed number of stripes, picked by thread id. Each stripe is a pair of
+ * {@link SpaceSavingSketch}es, one counting events and one counting output bytes, and the stripes are merged
+ * when a report is read. Memory is bounded by capacity counters per sketch per stripe, however many threads log.
+ * Counts from a stripe whose sketch has already evicted a statement are not part of its total. Statements with equal
+ * totals are reported in logger name, level and template order.
+ *
+ * Output is measured in UTF-8 bytes. Text loggers record the bytes of the formatted line, JSON loggers an estimate
+ * of the bytes of the event's JSON made while rendering it, see {@code MarkerAppendingLogger}. Neither includes what
+ * the logging backend adds around the event, such as timestamps or arguments formatted later.
+ */
+public class VolumeTracker implements VolumeTrackerMXBean {
+    public static final String OBJECT_NAME_PREFIX = "com.godaddy.logging:type=VolumeTracker,name=";
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    public static final int DEFAULT_REPORT_SIZE = 20;
+
+    private final int capacity;
+
+    private final int reportSize;
+
+    /** Number of stripes, enough to keep threads logging at the same time from queuing on a sketch's lock. */
+    private static final int STRIPES = Math.max(1, Math.min(16, Runtime.getRuntime().availableProcessors()));
+
+    private static final Comparator<Statement> STATEMENT_ORDER =
+            Comparator.comparing(Statement::getLoggerName, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                      .thenComparing(Statement::getLevel, Comparator.nullsFirst(Comparator.<Level>naturalOrder()))
+                      .thenComparing(Statement::getTemplate, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+    private final Sketches[] stripes = new Sketches[STRIPES];
+
+    private ObjectName objectName;
+
+    public VolumeTracker() {
+        this(DEFAULT_CAPACITY, DEFAULT_REPORT_SIZE);
+    }
+
+    /**
+     * @param capacity   number of statements tracked per stripe, statements logged more than total / capacity times
+     *                   are guaranteed to be reported
+     * @param reportSize number of statements reported over JMX
+     */
+    public VolumeTracker(int capacity, int reportSize) {
+        if (capacity < 1 || reportSize < 1) {
+            throw new IllegalArgumentException("capacity and reportSize must be positive");
+        }
+
+        this.capacity = capacity;
+        this.reportSize = reportSize;
+
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Sketches(capacity);
+        }
+    }
+
+    /**
+     * @param bytes size of the formatted statement in UTF-8 bytes, excluding arguments formatted later by the logging
+     *              backend
+     */
+    public void record(String loggerName, Level level, String template, long bytes) {
+        Sketches local = stripes[(int) (Thread.currentThread().getId() % stripes.length)];
+
+        Statement statement = new Statement(loggerName, level, template);
+
+        local.events.add(statement, 1);
+
+        if (bytes > 0) {
+            local.bytes.add(statement, bytes);
+        }
+    }
+
+    /**
+     * Counts the bytes of the text encoded as UTF-8 without encoding it. An unpaired surrogate counts as the one byte
+     * '?' it is encoded as.
+     */
+    public static long utf8Length(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+
+        long bytes = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (c < 0x80) {
+                bytes += 1;
+            }
+            else if (c < 0x800) {
+                bytes += 2;
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < text.length() &&
+                     Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            }
+            else if (Character.isSurrogate(c)) {
+                bytes += 1;
+            }
+            else {
+                bytes += 3;
+            }
+        }
+
+        return bytes;
+    }
+
+    public List<HeavyHitter> getTopByEvents(int n) {
+        return top(n, s -> s.events);
+    }
+
+    public List<HeavyHitter> getTopByBytes(int n) {
+        return top(n, s -> s.bytes);
+    }
+
+    @Override public List<HeavyHitter> getTopByEvents() {
+        return getTopByEvents(reportSize);
+    }
+
+    @Override public List<HeavyHitter> getTopByBytes() {
+        return getTopByBytes(reportSize);
+    }
+
+    @Override public int getCapacity() {
+        return capacity;
+    }
+
+    @Override public void reset() {
+        for (Sketches sketch : stripes) {
+            sketch.events.clear();
+            sketch.bytes.clear();
+        }
+    }
+
+    /**
+     * Registers this tracker with the platform MBean server under {@link #OBJECT_NAME_PREFIX} + name.
+     *
+     * @param name name distinguishing this tracker from others in the same JVM
+     * @return this tracker
+     */
+    public synchronized VolumeTracker register(String name) {
+        objectName = MBeans.register(this, OBJECT_NAME_PREFIX, name);
+
+        return this;
+    }
+
+    public synchronized void unregister() {
+        try {
+            MBeans.unregister(objectName);
+        }
+        finally {
+            objectName = null;
+        }
+    }
+
+    private List<HeavyHitter> top(int n, Function<Sketches, SpaceSavingSketch<Statement>> sketch) {
+        Map<Statement, long[]> totals = new HashMap<>();
+
+        for (Sketches stripe : stripes) {
+            sketch.apply(stripe).mergeInto(totals);
+        }
+
+        return totals.entrySet()
+                     .stream()
+                     .sorted(Comparator.comparingLong((Map.Entry<Statement, long[]> e) -> e.getValue()[0]).reversed()
+                                       .thenComparing(Map.Entry::getKey, STATEMENT_ORDER))
+                     .limit(n)
+                     .map(e -> new HeavyHitter(e.getKey().getLoggerName(),
+                                               e.getKey().getLevel(),
+                                               e.getKey().getTemplate(),
+                                               e.getValue()[0],
+                                               e.getValue()[1]))
+                     .collect(toList());
+    }
+
+    @Value
+    private static class Statement {
+        String loggerName;
+
+        Level level;
+
+        String template;
+    }
+
+    private static class Sketches {
+        final SpaceSavingSketch<Statement> events;
+
+        final SpaceSavingSketch<Statement> bytes;
+
+        Sketches(int capacity) {
+            events = new SpaceSavingSketch<>(capacity);
+            bytes = new SpaceSavingSketch<>(capacity);
+        }
+    }
+}
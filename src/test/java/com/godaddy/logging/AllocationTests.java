@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2015 GoDaddy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.godaddy.logging;
+
+import com.godaddy.logging.models.Car;
+import com.godaddy.logging.models.Country;
+import com.godaddy.logging.models.Engine;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Guards the number of bytes allocated per log call. Budgets live in allocation-budgets.properties; when a change
+ * legitimately moves a number, re-measure and update the budget in the same commit.
+ */
+public class AllocationTests {
+
+    private static final int WARMUP_CALLS = 20000;
+
+    private static final int MEASURED_CALLS = 5000;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final Properties BUDGETS = new Properties();
+
+    private final LoggingConfigs configs = LoggingConfigs.builder().build();
+
+    private final Logger logger = LoggerFactory.getLogger(AllocationTests.class, configs);
+
+    private final Logger jsonLogger = LoggerFactory.getLogger(AllocationTests.class, LoggingConfigs.builder().build().useJson());
+
+    private final Logger budgetedLogger = LoggerFactory.getLogger(AllocationTests.class, LoggingConfigs.builder().build()
+                                                                                                        .withEventBudget(10000, 100000));
+
+    private final Car car = new Car("911", 2015, "Porsche", 70000.00, Country.GERMANY, new Engine("V12"));
+
+    @BeforeClass
+    public static void loadBudgets() throws IOException {
+        assumeTrue(THREAD_MX_BEAN.isThreadAllocatedMemorySupported());
+
+        THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+
+        try (InputStream stream = AllocationTests.class.getResourceAsStream("/allocation-budgets.properties")) {
+            BUDGETS.load(stream);
+        }
+    }
+
+    @Test
+    public void test_message() {
+        assertWithinBudget("message", () -> logger.info("test"));
+    }
+
+    @Test
+    public void test_with_key_value() {
+        assertWithinBudget("keyValue", () -> logger.with("key", "value").info("test"));
+    }
+
+    @Test
+    public void test_with_pojo() {
+        assertWithinBudget("pojo", () -> logger.with(car).info("test"));
+    }
+
+    @Test
+    public void test_json_message() {
+        assertWithinBudget("json.message", () -> jsonLogger.info("test"));
+    }
+
+    @Test
+    public void test_json_with_key_value() {
+        assertWithinBudget("json.keyValue", () -> jsonLogger.with("key", "value").info("test"));
+    }
+
+    @Test
+    public void test_json_with_pojo() {
+        assertWithinBudget("json.pojo", () -> jsonLogger.with(car).info("test"));
+    }
+
+    @Test
+    public void test_budgeted_pojo() {
+        assertWithinBudget("budgeted.pojo", () -> budgetedLogger.with(car).info("test"));
+    }
+
+    @Test
+    public void test_disabled_level() {
+        assertWithinBudget("disabled.pojo", () -> logger.with(car).debug("test"));
+    }
+
+    @Test
+    public void test_json_disabled_level() {
+        assertWithinBudget("json.disabled.pojo", () -> jsonLogger.with(car).debug("test"));
+    }
+
+    @Test
+    public void test_get_logger() {
+        assertWithinBudget("getLogger", () -> LoggerFactory.getLogger(AllocationTests.class, configs));
+    }
+
+    private void assertWithinBudget(String budgetKey, Runnable logCall) {
+        long budget = Long.parseLong(BUDGETS.getProperty(budgetKey));
+
+        long allocated = bytesPerCall(logCall);
+
+        assertTrue(String.format("%s allocated %d bytes per call, budget is %d", budgetKey, allocated, budget), allocated <= budget);
+    }
+
+    private long bytesPerCall(Runnable logCall) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            logCall.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+
+        long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            logCall.run();
+        }
+
+        return (THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - before) / MEASURED_CALLS;
+    }
+}
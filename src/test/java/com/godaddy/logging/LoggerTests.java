@@ -25,8 +25,15 @@ package com.godaddy.logging;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggingEvent;
 import ch.qos.logback.core.Appender;
+import com.godaddy.logging.accessors.AccessorStrategy;
+import com.godaddy.logging.accessors.ClassAccessor;
 import com.godaddy.logging.messagebuilders.providers.StringMessageBuilderProvider;
 import com.godaddy.logging.models.*;
+import com.godaddy.logging.profiling.GetterFailure;
+import com.godaddy.logging.profiling.HeavyHitter;
+import com.godaddy.logging.profiling.RenderCost;
+import com.godaddy.logging.profiling.RenderProfiler;
+import com.godaddy.logging.profiling.VolumeTracker;
 import com.google.common.collect.Lists;
 import org.junit.After;
 import org.junit.Before;
@@ -37,24 +44,49 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.slf4j.MarkerFactory;
+import org.slf4j.event.Level;
 
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
 
@@ -133,6 +165,471 @@ public class LoggerTests {
         assertTrue(copyLogConfigs.getRecursiveLevel().equals(2));
     }
 
+    @Test
+    public void test_overrides_while_logging() throws Exception {
+        LoggingConfigs configs = LoggingConfigs.builder().build();
+
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, configs);
+
+        Car car = new Car("911", 2015, "Porsche", 70000.00, Country.GERMANY, new Engine("V12"));
+
+        Class<?>[] types = { Integer.class, Long.class, Short.class, Byte.class, Float.class, Double.class, Character.class, URI.class };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            Future<?> logging = executor.submit(() -> IntStream.range(0, 500).forEach(i -> logger.with(car).info("logging")));
+
+            List<Future<?>> overrides = Arrays.stream(types)
+                                              .map(type -> executor.submit(() -> configs.addOverride(type, Object::toString)))
+                                              .collect(toList());
+
+            for (Future<?> override : overrides) {
+                override.get();
+            }
+
+            logging.get();
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        assertTrue(configs.getCustomMapper().keySet().containsAll(Arrays.asList(types)));
+
+        configs.addOverride(Car.class, c -> "car");
+
+        logger.with(car).info("overridden");
+
+        assertEquals("overridden; car", getLoggingEvent().getFormattedMessage());
+    }
+
+    @Test
+    public void test_update_current() {
+        LoggingConfigs original = LoggingConfigs.getCurrent();
+
+        try {
+            LoggingConfigs updated = LoggingConfigs.updateCurrent(configs -> configs.withRecursiveLevel(2));
+
+            assertTrue(updated == LoggingConfigs.getCurrent());
+            assertEquals(Integer.valueOf(2), LoggingConfigs.getCurrent().getRecursiveLevel());
+            assertEquals(original.getCustomMapper(), updated.getCustomMapper());
+        }
+        finally {
+            LoggingConfigs.setCurrent(original);
+        }
+    }
+
+    @Test
+    public void test_precompile() {
+        LoggingConfigs configs = LoggingConfigs.builder().build();
+
+        PrecompileReport report = configs.precompile(Person.class);
+
+        assertTrue(report.toString(), report.getCompiled().containsAll(Arrays.asList(Person.class, Car.class, Engine.class)));
+        assertTrue(report.toString(), report.getFailed().isEmpty());
+
+        PrecompileReport scanned = configs.precompile("com.godaddy.logging.models");
+
+        assertTrue(scanned.toString(), scanned.getCompiled().containsAll(Arrays.asList(AnnotatedPojo.class, CycleObject.class)));
+        assertTrue(scanned.toString(), !scanned.getCompiled().contains(Country.class));
+        assertTrue(scanned.toString(), scanned.getFailed().isEmpty());
+    }
+
+    @Test
+    public void test_plan_compiler() {
+        List<Runnable> queued = new ArrayList<>();
+
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().build().withPlanCompiler(queued::add));
+
+        Engine engine = new Engine("V8");
+
+        logger.with("engine", engine).info("Engine");
+        logger.with("engine", engine).info("Engine");
+
+        assertEquals("Engine; engine=\"" + Engine.class.getName() + ": Engine(name=V8)\"", getLoggingEvent().getFormattedMessage());
+        assertEquals(1, queued.size());
+
+        queued.forEach(Runnable::run);
+
+        logger.with("engine", engine).info("Engine");
+
+        assertEquals("Engine; engine.Engine.name=\"V8\"", getLoggingEvent().getFormattedMessage());
+    }
+
+    @Test
+    public void test_accessor_cache() throws IOException {
+        Path directory = Files.createTempDirectory("accessors");
+
+        LoggingConfigs configs = LoggingConfigs.builder().build().withAccessorCache(directory);
+
+        configs.explain(PersistedElement.class);
+
+        ClassAccessor accessor = configs.getAccessorStrategy().get(PersistedElement.class);
+
+        Path entry = directory.resolve(PersistedElement.class.getName() + "." + accessor.getClass().getSimpleName() + ".methods");
+
+        assertTrue(Files.isRegularFile(entry));
+
+        LogCache[] persisted = configs.getAccessorCache().load(PersistedElement.class, accessor.getClass(), "methods",
+                                                               accessor::getMethodIndex, accessor.getMethodNames().length);
+
+        assertArrayEquals(CacheableAccessors.getMethodIndexes(PersistedElement.class, accessor, null), persisted);
+        assertTrue(Arrays.stream(persisted).anyMatch(member -> member.getLogScope() == Scope.HASH));
+
+        // strategies list different members, each keeps its own entries
+        configs.withAccessorStrategy(AccessorStrategy.METHOD_HANDLES).explain(PersistedElement.class);
+
+        assertTrue(Files.isRegularFile(directory.resolve(
+            PersistedElement.class.getName() + "." + AccessorStrategy.METHOD_HANDLES.get(PersistedElement.class).getClass().getSimpleName() + ".fields")));
+
+        List<String> lines = Files.readAllLines(entry);
+        lines.set(0, "stale");
+        Files.write(entry, lines);
+
+        assertNull(configs.getAccessorCache().load(PersistedElement.class, accessor.getClass(), "methods",
+                                                   accessor::getMethodIndex, accessor.getMethodNames().length));
+    }
+
+    public static class PersistedElement {
+        @LoggingScope(scope = Scope.HASH)
+        public String getSecret() {
+            return "secret";
+        }
+
+        public String getName() {
+            return "name";
+        }
+    }
+
+    @Test
+    public void test_method_handle_accessors() {
+        LoggingConfigs reflectAsm = LoggingConfigs.builder().build();
+
+        LoggingConfigs methodHandles = reflectAsm.withAccessorStrategy(AccessorStrategy.METHOD_HANDLES);
+
+        Car car = new Car("911", 2015, "Porsche", 70000.00, Country.GERMANY, new Engine("V12"));
+
+        LoggerFactory.getLogger(LoggerTests.class, reflectAsm).with("car", car).info("Car");
+
+        String expected = getLoggingEvent().getFormattedMessage();
+
+        LoggerFactory.getLogger(LoggerTests.class, methodHandles).with("car", car).info("Car");
+
+        assertEquals(expected, getLoggingEvent().getFormattedMessage());
+
+        LoggerFactory.getLogger(LoggerTests.class, reflectAsm).with("state", new PrivateState()).info("State");
+
+        assertEquals("State; state.PrivateState.name=\"name\"", getLoggingEvent().getFormattedMessage());
+
+        LoggerFactory.getLogger(LoggerTests.class, methodHandles).with("state", new PrivateState()).info("State");
+
+        assertEquals("State; state.PrivateState.name=\"name\"; state.PrivateState.secret=\"hidden\"",
+                     getLoggingEvent().getFormattedMessage());
+    }
+
+    public static class PrivateState {
+        private String name = "name";
+
+        private String secret = "hidden";
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    @Test
+    public void test_max_string_length() {
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().build().withMaxStringLength(5));
+
+        logger.with("short", "abc").with("long", "abcdefghij").info("Strings");
+
+        assertEquals("Strings; long=\"abcde... (10 total)\"; short=\"abc\"", getLoggingEvent().getFormattedMessage());
+    }
+
+    @Test
+    public void test_max_fields_per_object() {
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().build().withMaxFieldsPerObject(2));
+
+        Car car = new Car("911", 2015, "Porsche", 70000.00, Country.GERMANY, new Engine("V12"));
+
+        logger.with("car", car).info("Car");
+
+        assertEquals("Car; car.Car.cost=70000.0; car.Car.country=GERMANY; car.Car._total=7", getLoggingEvent().getFormattedMessage());
+    }
+
+    @Test
+    public void test_event_budget() {
+        AtomicInteger reads = new AtomicInteger();
+
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().build().withEventBudget(6, 1000));
+
+        List<CountingElement> elements = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            elements.add(new CountingElement(reads));
+        }
+
+        // the last with value is rendered first
+        logger.with("after", "dropped").with("elements", elements).info("Budget");
+
+        assertEquals("Budget; elements=[{count=1}, {count=1}, ... (maxNodes reached)]", getLoggingEvent().getFormattedMessage());
+        assertEquals(2, reads.get());
+
+        logger = LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().build().withEventBudget(100, 15));
+
+        logger.with("first", "0123456789").with("second", "0123456789").info("Budget");
+
+        assertEquals("Budget; first=\"... (maxOutputChars reached)\"; second=\"0123456789\"", getLoggingEvent().getFormattedMessage());
+    }
+
+    public static class CountingElement {
+        private final AtomicInteger reads;
+
+        CountingElement(AtomicInteger reads) {
+            this.reads = reads;
+        }
+
+        public int getCount() {
+            return reads.incrementAndGet() > 0 ? 1 : 0;
+        }
+    }
+
+    @Test
+    public void test_time_budget() {
+        SlowGetterBreaker breaker = new SlowGetterBreaker(2, SlowGetterBreaker.Action.SKIP_GETTER);
+
+        LoggingConfigs configs = LoggingConfigs.builder().build().withTimeBudget(Duration.ofMillis(10), breaker);
+
+        // building the plan on first use would count against the budget
+        configs.precompile(SlowDto.class);
+
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, configs);
+
+        for (int i = 0; i < 2; i++) {
+            logger.with("dto", new SlowDto()).info("Slow");
+
+            assertEquals("Slow; dto.SlowDto.fast=\"fast\"; dto.SlowDto.slow=\"... (timeBudget reached)\"",
+                         getLoggingEvent().getFormattedMessage());
+        }
+
+        assertEquals(2, breaker.getBreaches(SlowDto.class, "getSlow"));
+
+        logger.with("dto", new SlowDto()).info("Slow");
+
+        assertEquals("Slow; dto.SlowDto.fast=\"fast\"; dto.SlowDto.slow=\"" + SlowGetterBreaker.SKIPPED_GETTER + "\"; dto.SlowDto.tail=\"tail\"",
+                     getLoggingEvent().getFormattedMessage());
+
+        breaker = new SlowGetterBreaker(1, SlowGetterBreaker.Action.TO_STRING);
+
+        configs = LoggingConfigs.builder().build().withTimeBudget(Duration.ofMillis(10), breaker);
+
+        configs.precompile(SlowDto.class);
+
+        logger = LoggerFactory.getLogger(LoggerTests.class, configs);
+
+        logger.with("dto", new SlowDto()).info("Slow");
+        logger.with("dto", new SlowDto()).info("Slow");
+
+        assertEquals("Slow; dto=\"" + SlowDto.class.getName() + ": SlowDto\"", getLoggingEvent().getFormattedMessage());
+
+        // a run of calls in time forgives earlier breaches
+        breaker = new SlowGetterBreaker(2, 3, SlowGetterBreaker.Action.SKIP_GETTER);
+
+        breaker.recordBreach(SlowDto.class, "getSlow");
+
+        for (int i = 0; i < 2; i++) {
+            breaker.recordInTime(SlowDto.class, "getSlow");
+        }
+
+        assertEquals(1, breaker.getBreaches(SlowDto.class, "getSlow"));
+
+        breaker.recordInTime(SlowDto.class, "getSlow");
+        breaker.recordBreach(SlowDto.class, "getSlow");
+
+        assertEquals(1, breaker.getBreaches(SlowDto.class, "getSlow"));
+        assertTrue(breaker.getTripped().isEmpty());
+    }
+
+    public static class SlowDto {
+        public String getFast() {
+            return "fast";
+        }
+
+        public String getSlow() throws InterruptedException {
+            Thread.sleep(50);
+
+            return "slow";
+        }
+
+        public String getTail() {
+            return "tail";
+        }
+
+        @Override public String toString() {
+            return "SlowDto";
+        }
+    }
+
+    @Test
+    public void test_failing_getter_cache() {
+        FailingGetterCache cache = new FailingGetterCache(2, FailingGetterCache.Action.TRANSLATE);
+
+        RenderProfiler profiler = new RenderProfiler();
+
+        LoggingConfigs configs = LoggingConfigs.builder()
+                                               .exceptionTranslator(t -> "<" + t.getClass().getSimpleName() + ">")
+                                               .build()
+                                               .withFailingGetterCache(cache)
+                                               .withRenderProfiler(profiler);
+
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, configs);
+
+        FailingDto dto = new FailingDto();
+
+        for (int i = 0; i < 4; i++) {
+            logger.with("dto", dto).info("Failing");
+
+            assertEquals("Failing; dto.FailingDto.name=\"name\"; dto.FailingDto.unsupported=\"<UnsupportedOperationException>\"",
+                         getLoggingEvent().getFormattedMessage());
+        }
+
+        assertEquals(2, dto.calls);
+        assertEquals(2, cache.getFailures(FailingDto.class, "getUnsupported"));
+        assertEquals(new GetterFailure(FailingDto.class.getName(), "getUnsupported",
+                                       UnsupportedOperationException.class.getName(), 2, 2),
+                     profiler.getGetterFailures().get(0));
+
+        cache.reset();
+
+        logger.with("dto", dto).info("Failing");
+
+        assertEquals(3, dto.calls);
+
+        configs = configs.withFailingGetterCache(new FailingGetterCache(1, FailingGetterCache.Action.SKIP_GETTER));
+
+        LoggerFactory.getLogger(LoggerTests.class, configs).with("dto", dto).info("Failing");
+        LoggerFactory.getLogger(LoggerTests.class, configs).with("dto", dto).info("Failing");
+
+        assertEquals("Failing; dto.FailingDto.name=\"name\"; dto.FailingDto.unsupported=\"" + FailingGetterCache.SKIPPED_GETTER + "\"",
+                     getLoggingEvent().getFormattedMessage());
+        assertEquals(4, dto.calls);
+    }
+
+    public static class FailingDto {
+        private int calls;
+
+        public String getName() {
+            return "name";
+        }
+
+        public String getUnsupported() {
+            calls++;
+
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Test
+    public void test_stop_types_and_proxies() {
+        LazyList lazy = new LazyList();
+
+        LoggingConfigs configs = LoggingConfigs.builder().build().withProxyDetectors(value -> value instanceof LazyList);
+
+        Resource resource = new Resource(lazy);
+
+        LoggerFactory.getLogger(LoggerTests.class, configs).with("resource", resource).info("Resource");
+
+        assertEquals("Resource; resource.Resource.lazy=\"" + LoggerMessageBuilder.UNINITIALIZED_PROXY + "\"; " +
+                     "resource.Resource.name=\"name\"; resource.Resource.stream=\"<java.io.InputStream not logged>\"",
+                     getLoggingEvent().getFormattedMessage());
+        assertEquals(0, resource.streams);
+        assertEquals(0, lazy.reads);
+        assertEquals(RenderExplanation.Rendering.STOPPED,
+                     configs.explain(Resource.class).getMembers().stream()
+                            .filter(member -> member.getKey().equals("stream"))
+                            .findFirst().get().getRendering());
+
+        LoggerFactory.getLogger(LoggerTests.class, configs.withStopTypes(LazyList.class)).with("lazy", lazy).info("Lazy");
+
+        assertEquals("Lazy; lazy=\"<" + LazyList.class.getName() + " not logged>\"", getLoggingEvent().getFormattedMessage());
+    }
+
+    public static class Resource {
+        private final List<String> lazy;
+
+        private int streams;
+
+        Resource(List<String> lazy) {
+            this.lazy = lazy;
+        }
+
+        public InputStream getStream() {
+            streams++;
+
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        public List<String> getLazy() {
+            return lazy;
+        }
+
+        public String getName() {
+            return "name";
+        }
+    }
+
+    public static class LazyList extends AbstractList<String> {
+        private int reads;
+
+        @Override public String get(int index) {
+            reads++;
+
+            return "loaded";
+        }
+
+        @Override public int size() {
+            reads++;
+
+            return 1;
+        }
+    }
+
+    @Test
+    public void test_proxy_classes() {
+        LoggingConfigs configs = LoggingConfigs.builder().build();
+
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, configs);
+
+        logger.with("engine", new Engine$$EnhancerByCGLIB()).info("Proxy");
+
+        assertEquals("Proxy; engine.Engine.name=\"V8\"", getLoggingEvent().getFormattedMessage());
+        assertSame(configs.getRenderPlan(Engine.class), configs.getRenderPlan(Engine$$EnhancerByCGLIB.class));
+        assertEquals(Engine.class, ProxyClasses.unwrap(Engine$$EnhancerByCGLIB.class));
+
+        Named named = (Named) Proxy.newProxyInstance(Named.class.getClassLoader(), new Class<?>[] { Named.class },
+                                                     (proxy, method, args) -> "proxied");
+
+        logger.with("named", named).info("Proxy");
+
+        assertEquals("Proxy; named.Named.name=\"proxied\"", getLoggingEvent().getFormattedMessage());
+        assertEquals(Named.class, ProxyClasses.unwrap(named.getClass()));
+    }
+
+    /**
+     * Named the way CGLIB names the subclasses it generates, with a callback field like theirs.
+     */
+    public static class Engine$$EnhancerByCGLIB extends Engine {
+        public Object CGLIB$CALLBACK_0 = "internal";
+
+        public Engine$$EnhancerByCGLIB() {
+            super("V8");
+        }
+    }
+
+    public interface Named {
+        String getName();
+    }
+
     @Test
     public void test_key_value() {
         UUID uuid = UUID.randomUUID();
@@ -209,10 +706,10 @@ public class LoggerTests {
                                                                                                                                                                new Engine(
                                                                                                                                                                        "V8")));
 
-        String expected = "TEST; Person.myCar.country=USA; Person.myCar.cost=55000.2; Person.myCar.test=\"HI\"; Person.myCar.engine.name=\"V8\"; Person.myCar" +
-                          ".year=2011; Person.myCar.model=\"Mustang\"; Person.myCar.make=\"Ford\"; Person.cars=[{country=GERMANY, cost=45000.2, test=HI, " +
-                          "engine={name=V6}, year=2010, model=A4, make=Audi}, {country=JAPAN, cost=25000.5, test=HI, engine={name=V6}, year=2012, model=Element, " +
-                          "make=Honda}]; Person.name=\"bob\"; Person.retired=false; Person.age=25";
+        String expected = "TEST; Person.age=25; Person.cars=[{cost=45000.2, country=GERMANY, engine={name=V6}, make=Audi, model=A4, year=2010, test=HI}, " +
+                          "{cost=25000.5, country=JAPAN, engine={name=V6}, make=Honda, model=Element, year=2012, test=HI}]; Person.myCar.cost=55000.2; " +
+                          "Person.myCar.country=USA; Person.myCar.engine.name=\"V8\"; Person.myCar.make=\"Ford\"; Person.myCar.model=\"Mustang\"; " +
+                          "Person.myCar.year=2011; Person.myCar.test=\"HI\"; Person.name=\"bob\"; Person.retired=false";
 
         logger.with(person).info("TEST");
 
@@ -378,10 +875,10 @@ public class LoggerTests {
               }).info("TEST");
 
         String expected =
-                "TEST; Another String; 1; My String; Person.myCar.country=USA; Person.myCar.cost=55000.2; Person.myCar.test=\"HI\"; Person.myCar.engine.name=\"V8\"; " +
-                "Person.myCar.year=2011; Person.myCar.model=\"Mustang\"; Person.myCar.make=\"Ford\"; Person.cars=[{country=GERMANY, cost=45000.2, test=HI, " +
-                "engine={name=V6}, year=2010, model=A4, make=Audi}, {country=JAPAN, cost=25000.5, test=HI, engine={name=V6}, year=2012, model=Element, make=Honda}]; " +
-                "Person.name=\"bob\"; Person.retired=false; Person.age=25; country=USA; month=\"January\"; year=2015";
+                "TEST; Another String; 1; My String; Person.age=25; Person.cars=[{cost=45000.2, country=GERMANY, engine={name=V6}, make=Audi, model=A4, " +
+                "year=2010, test=HI}, {cost=25000.5, country=JAPAN, engine={name=V6}, make=Honda, model=Element, year=2012, test=HI}]; Person.myCar.cost=55000.2; " +
+                "Person.myCar.country=USA; Person.myCar.engine.name=\"V8\"; Person.myCar.make=\"Ford\"; Person.myCar.model=\"Mustang\"; Person.myCar.year=2011; " +
+                "Person.myCar.test=\"HI\"; Person.name=\"bob\"; Person.retired=false; country=USA; month=\"January\"; year=2015";
 
         assertEquals(getLoggingEvent().getFormattedMessage(), expected);
     }
@@ -395,8 +892,8 @@ public class LoggerTests {
             Car car = new Car("Element", 2012, "Honda", 25000.50, Country.JAPAN, new Engine("V6"));
         }).info("TEST");
 
-        String expected = "TEST; age=27; car.country=JAPAN; car.cost=25000.5; car.test=\"HI\"; car.engine.name=\"V6\"; car.year=2012; car.model=\"Element\"; car" +
-                          ".make=\"Honda\"; name=\"Brendan\"";
+        String expected = "TEST; age=27; car.cost=25000.5; car.country=JAPAN; car.engine.name=\"V6\"; car.make=\"Honda\"; car.model=\"Element\"; car.year=2012; " +
+                          "car.test=\"HI\"; name=\"Brendan\"";
 
         assertEquals(getLoggingEvent().getFormattedMessage(), expected);
     }
@@ -431,7 +928,7 @@ public class LoggerTests {
 
         logger.with(car).info("TEST");
 
-        String expected = "TEST; Car.country=GERMANY; Car.cost=70000.0; Car.test=\"HI\"; Car.engine=<null>; Car.year=2015; Car.model=\"911\"; Car.make=\"Porsche\"";
+        String expected = "TEST; Car.cost=70000.0; Car.country=GERMANY; Car.engine=<null>; Car.make=\"Porsche\"; Car.model=\"911\"; Car.year=2015; Car.test=\"HI\"";
 
         assertEquals(getLoggingEvent().getFormattedMessage(), expected);
     }
@@ -442,10 +939,10 @@ public class LoggerTests {
 
         logger.with(annotatedPojo).info("Annotation Logging");
 
-        String expectedLogMessage = "Annotation Logging; AnnotatedPojo.hashAnnotationField=\"574ddfe7cc3cdd67bb290ca50e964e5904613bd373a5fd1924e27f8552aae310\"; " +
-                                    "AnnotatedPojo.noAnnotationField=\"NoAnnotationField\"; AnnotatedPojo" +
-                                    ".hashAnnotationProperty=\"5f7e0a2dff6ec731caf7060a4442f3a553d0efd220cb416eaaf923b2ed0d4472\"; AnnotatedPojo" +
-                                    ".noAnnotationProperty=\"NoAnnotationProperty\"";
+        String expectedLogMessage = "Annotation Logging; AnnotatedPojo.hashAnnotationProperty=\"5f7e0a2dff6ec731caf7060a4442f3a553d0efd220cb416eaaf923b2ed0d4472\"; " +
+                                    "AnnotatedPojo.noAnnotationProperty=\"NoAnnotationProperty\"; AnnotatedPojo" +
+                                    ".hashAnnotationField=\"574ddfe7cc3cdd67bb290ca50e964e5904613bd373a5fd1924e27f8552aae310\"; AnnotatedPojo" +
+                                    ".noAnnotationField=\"NoAnnotationField\"";
 
         String actualLogMessage = getLoggingEvent().getFormattedMessage();
 
@@ -482,6 +979,481 @@ public class LoggerTests {
         assertEquals(getLoggingEvent().getFormattedMessage(), "Logging Array; array=[1, 2, 3]");
     }
 
+    @Test
+    public void test_log_primitive_arrays() {
+        logger.with("longs", new long[]{ 1L, 2L })
+              .with("doubles", new double[]{ 0.5 })
+              .with("bytes", new byte[]{ -1, 2 })
+              .with("flags", new boolean[]{ true })
+              .with("chars", new char[]{ 'a' })
+              .with("many", IntStream.range(0, 100).toArray())
+              .info("Logging Arrays");
+
+        assertEquals("Logging Arrays; bytes=[-1, 2]; chars=[a]; doubles=[0.5]; flags=[true]; longs=[1, 2]; " +
+                     "many=" + IntStream.range(0, 50).boxed().collect(toList()).toString().replace("]", ", ... (100 total)]"),
+                     getLoggingEvent().getFormattedMessage());
+    }
+
+    @Test
+    public void test_primitive_array_budget() {
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().build().withEventBudget(100, 11));
+
+        // 5 and 6 characters fit, 6 more would not
+        logger.with("values", new double[]{ 100, 1000, 2000 }).info("Budget");
+
+        assertEquals("Budget; values=[100.0, 1000.0, ... (maxOutputChars reached)]", getLoggingEvent().getFormattedMessage());
+    }
+
+    @Test
+    public void test_array_summary() {
+        Logger summaryLogger = LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().build().withArraySummaryTypes(double[].class));
+
+        summaryLogger.with("samples", new double[]{ 4, 1, 3, 8, 2, 6, 5 }).with("counts", new int[]{ 1, 2 }).info("Summary");
+
+        String message = getLoggingEvent().getFormattedMessage();
+
+        assertTrue(message, message.startsWith("Summary; counts=[1, 2]; "));
+        assertTrue(message, message.contains("samples.length=7"));
+        assertTrue(message, message.contains("samples.min=1.0"));
+        assertTrue(message, message.contains("samples.max=8.0"));
+        assertTrue(message, message.contains("samples.mean=4.142857142857143"));
+        assertTrue(message, message.contains("samples.first=[4.0, 1.0, 3.0]"));
+        assertTrue(message, message.contains("samples.last=[2.0, 6.0, 5.0]"));
+    }
+
+    @Test
+    public void test_array_summary_scope() {
+        logger.with(new Object() {
+            @LoggingScope(scope = Scope.SUMMARY)
+            long[] latencies = new long[]{ 10, 30, 20 };
+
+            long[] raw = new long[]{ 10, 30, 20 };
+        }).info("Summary");
+
+        String message = getLoggingEvent().getFormattedMessage();
+
+        assertTrue(message, message.contains("latencies.length=3"));
+        assertTrue(message, message.contains("latencies.max=30"));
+        assertTrue(message, message.contains("latencies.mean=20.0"));
+        assertTrue(message, message.contains("raw=[10, 30, 20]"));
+    }
+
+    @Test
+    public void test_member_scopes() {
+        logger.with(new Object() {
+            @LoggingScope(scope = Scope.SIZE_ONLY)
+            List<Integer> ids = Arrays.asList(1, 2, 3);
+
+            @LoggingScope(scope = Scope.SIZE_ONLY)
+            int[] counts = new int[]{ 4, 5 };
+
+            @LoggingScope(scope = Scope.TO_STRING)
+            Engine engine = new Engine("V8");
+
+            @LoggingScope(scope = Scope.SHALLOW)
+            Car car = new Car("Camry", 2015, "Toyota", 20000.0, Country.USA, new Engine("V6"));
+
+            @LoggingScope(scope = Scope.TYPE_ONLY)
+            Object payload = new ArrayList<>();
+        }).info("Scopes");
+
+        assertEquals("Scopes; car.cost=20000.0; car.country=USA; car.make=\"Toyota\"; car.model=\"Camry\"; car.year=2015; " +
+                     "car.test=\"HI\"; counts=2; engine=\"Engine(name=V8)\"; ids=3; payload=\"java.util.ArrayList\"",
+                     getLoggingEvent().getFormattedMessage());
+
+        Map<String, RenderExplanation.Rendering> renderings = new HashMap<>();
+
+        LoggingConfigs.builder().build().explain(ScopedMembers.class).getMembers().forEach(member -> renderings.put(member.getKey(), member.getRendering()));
+
+        assertEquals(RenderExplanation.Rendering.SIZE, renderings.get("ids"));
+        assertEquals(RenderExplanation.Rendering.TO_STRING, renderings.get("engine"));
+        assertEquals(RenderExplanation.Rendering.SHALLOW, renderings.get("car"));
+        assertEquals(RenderExplanation.Rendering.TYPE, renderings.get("payload"));
+    }
+
+    @Test
+    public void test_projections() {
+        Order order = new Order();
+
+        logger.with(order, "id", "customer.tier", "lines.size").info("Order");
+
+        assertEquals("Order; Order.customer.tier=\"GOLD\"; Order.id=42; Order.lines.size=2",
+                     getLoggingEvent().getFormattedMessage());
+        assertEquals(0, order.notesReads);
+
+        logger.with(order, "lines.sku").info("Order");
+
+        assertEquals("Order; Order.lines=[{sku=a}, {sku=b}]", getLoggingEvent().getFormattedMessage());
+
+        LoggingConfigs configs = LoggingConfigs.builder().build().withProjection(Customer.class, "name");
+
+        LoggerFactory.getLogger(LoggerTests.class, configs).with(order, "customer").info("Order");
+
+        assertEquals("Order; Order.customer.name=\"Ann\"", getLoggingEvent().getFormattedMessage());
+
+        LoggerFactory.getLogger(LoggerTests.class, configs).with("order", order).info("Order");
+
+        assertEquals("Order; order.Order.customer.name=\"Ann\"; order.Order.id=42; " +
+                     "order.Order.lines=[{quantity=1, sku=a}, {quantity=2, sku=b}]; order.Order.notes=\"notes\"",
+                     getLoggingEvent().getFormattedMessage());
+        assertEquals(1, order.notesReads);
+    }
+
+    @Test
+    public void test_level_profiles() {
+        LoggingConfigs configs = LoggingConfigs.builder()
+                                               .build()
+                                               .withLevelProfile(c -> c.withCollectionLimit(0).withProjection(Car.class, "model", "engine"),
+                                                                 Level.INFO, Level.WARN);
+
+        assertSame(configs.forLevel(Level.INFO), configs.forLevel(Level.WARN));
+        assertSame(configs, configs.forLevel(Level.DEBUG));
+
+        Logger profiled = LoggerFactory.getLogger(LoggerTests.class, configs);
+
+        Car car = new Car("911", 2015, "Porsche", 70000.00, Country.GERMANY, new Engine("V8"));
+
+        profiled.with(car).info("Info");
+
+        assertEquals("Info; Car.engine.name=\"V8\"; Car.model=\"911\"", getLoggingEvent().getFormattedMessage());
+
+        profiled.with(car).debug("Debug");
+
+        assertEquals("Debug; Car.cost=70000.0; Car.country=GERMANY; Car.engine.name=\"V8\"; Car.make=\"Porsche\"; " +
+                     "Car.model=\"911\"; Car.year=2015; Car.test=\"HI\"", getLoggingEvent().getFormattedMessage());
+
+        Order order = new Order();
+
+        profiled.with("order", order).with(car).warn("Warn");
+
+        assertEquals("Warn; Car.engine.name=\"V8\"; Car.model=\"911\"; order.Order.customer.name=\"Ann\"; " +
+                     "order.Order.customer.tier=\"GOLD\"; order.Order.id=42; order.Order.lines=[... (2 total)]; order.Order.notes=\"notes\"",
+                     getLoggingEvent().getFormattedMessage());
+
+        profiled.with("order", order).error("Error");
+
+        assertEquals("Error; order.Order.customer.name=\"Ann\"; order.Order.customer.tier=\"GOLD\"; order.Order.id=42; " +
+                     "order.Order.lines=[{quantity=1, sku=a}, {quantity=2, sku=b}]; order.Order.notes=\"notes\"",
+                     getLoggingEvent().getFormattedMessage());
+
+        // overrides added later reach the levels with a profile too
+        configs.addOverride(Engine.class, engine -> "engine");
+
+        profiled.with(car).info("Info");
+
+        assertEquals("Info; Car.engine=\"engine\"; Car.model=\"911\"", getLoggingEvent().getFormattedMessage());
+    }
+
+    public static class Order {
+        private int notesReads;
+
+        public int getId() {
+            return 42;
+        }
+
+        public Customer getCustomer() {
+            return new Customer();
+        }
+
+        public List<Line> getLines() {
+            return Arrays.asList(new Line("a", 1), new Line("b", 2));
+        }
+
+        public String getNotes() {
+            notesReads++;
+
+            return "notes";
+        }
+    }
+
+    public static class Customer {
+        public String getTier() {
+            return "GOLD";
+        }
+
+        public String getName() {
+            return "Ann";
+        }
+    }
+
+    public static class Line {
+        private final String sku;
+
+        private final int quantity;
+
+        public Line(String sku, int quantity) {
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+
+    @Test
+    public void test_shallow_members() {
+        FailingGetterCache cache = new FailingGetterCache(1, FailingGetterCache.Action.TRANSLATE);
+
+        LoggingConfigs configs = LoggingConfigs.builder()
+                                               .exceptionTranslator(t -> "<" + t.getClass().getSimpleName() + ">")
+                                               .build()
+                                               .withFailingGetterCache(cache);
+
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, configs);
+
+        ShallowNode node = new ShallowNode();
+        ShallowNode next = new ShallowNode();
+
+        node.next = next;
+        next.next = node;
+
+        for (int i = 0; i < 2; i++) {
+            logger.with("node", node).info("Shallow");
+
+            // the next of a shallow node is itself a shallow node, it is left out without being read
+            assertEquals("Shallow; node.ShallowNode.name=\"node\"; node.ShallowNode.next.name=\"node\"; " +
+                         "node.ShallowNode.next.unsupported=\"<UnsupportedOperationException>\"; " +
+                         "node.ShallowNode.unsupported=\"<UnsupportedOperationException>\"",
+                         getLoggingEvent().getFormattedMessage());
+        }
+
+        assertEquals(0, next.nextReads);
+        assertEquals(1, node.failingDto.calls + next.failingDto.calls);
+    }
+
+    public static class ShallowNode {
+        private final FailingDto failingDto = new FailingDto();
+
+        private int nextReads;
+
+        private ShallowNode next;
+
+        public String getName() {
+            return "node";
+        }
+
+        public String getUnsupported() {
+            return failingDto.getUnsupported();
+        }
+
+        @LoggingScope(scope = Scope.SHALLOW)
+        public ShallowNode getNext() {
+            nextReads++;
+
+            return next;
+        }
+    }
+
+    public static class ScopedMembers {
+        @LoggingScope(scope = Scope.SIZE_ONLY)
+        public List<Integer> ids;
+
+        @LoggingScope(scope = Scope.TO_STRING)
+        public Engine engine;
+
+        @LoggingScope(scope = Scope.SHALLOW)
+        public Car car;
+
+        @LoggingScope(scope = Scope.TYPE_ONLY)
+        public Object payload;
+    }
+
+    @Test
+    public void test_large_collection_is_not_copied() {
+        AtomicInteger reads = new AtomicInteger();
+
+        List<Integer> huge = new AbstractList<Integer>() {
+            @Override public Integer get(int index) {
+                reads.incrementAndGet();
+                return index;
+            }
+
+            @Override public int size() {
+                return 1_000_000;
+            }
+        };
+
+        LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().build().withCollectionLimit(3)).with("huge", huge).info("Huge");
+
+        assertEquals("Huge; huge=[0, 1, 2, ... (1000000 total)]", getLoggingEvent().getFormattedMessage());
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    public void test_map_limit() {
+        Map<String, Integer> map = new TreeMap<String, Integer>() {
+            @Override public Integer get(Object key) {
+                throw new UnsupportedOperationException("entries are read from the entry set");
+            }
+        };
+
+        IntStream.range(0, 5).forEach(i -> map.put("k" + i, i));
+
+        LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().mapLimit(2).build()).with("map", map).info("Map");
+
+        String message = getLoggingEvent().getFormattedMessage();
+
+        assertTrue(message, message.contains("map.k0=0"));
+        assertTrue(message, message.contains("map.k1=1"));
+        assertTrue(message, message.contains("map._total=5"));
+        assertTrue(message, !message.contains("map.k2"));
+    }
+
+    @Test
+    public void test_parallel_rendering() {
+        List<ThreadRecordingElement> elements = IntStream.range(0, 200).mapToObj(ThreadRecordingElement::new).collect(toList());
+
+        LoggingConfigs sequential = LoggingConfigs.builder().build().withCollectionLimit(200);
+
+        LoggerFactory.getLogger(LoggerTests.class, sequential).with("elements", elements).info("Sequential");
+
+        String expected = getLoggingEvent().getFormattedMessage().replace("Sequential", "Parallel");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            LoggingConfigs parallel = sequential.withParallelRendering(pool, 100, 100);
+
+            LoggerFactory.getLogger(LoggerTests.class, parallel).with("elements", elements).info("Parallel");
+
+            assertEquals(expected, getLoggingEvent().getFormattedMessage());
+            assertTrue(elements.stream().anyMatch(e -> e.renderedOn instanceof ForkJoinWorkerThread));
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    public static class ThreadRecordingElement {
+        private final int index;
+
+        private Thread renderedOn;
+
+        ThreadRecordingElement(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            renderedOn = Thread.currentThread();
+
+            return index;
+        }
+    }
+
+    @Test
+    public void test_immutable_render_cache() {
+        LoggingConfigs configs = LoggingConfigs.builder().build();
+
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, configs);
+
+        ImmutableElement element = new ImmutableElement("first", new ImmutableElement("second", null));
+
+        logger.with(element).info("Immutable");
+
+        String expected = getLoggingEvent().getFormattedMessage();
+
+        assertTrue(expected, expected.contains("ImmutableElement.name=\"first\""));
+        assertTrue(expected, expected.contains("ImmutableElement.next.name=\"second\""));
+
+        logger.with(element).info("Immutable");
+
+        assertEquals(expected, getLoggingEvent().getFormattedMessage());
+        assertEquals(1, element.reads.get());
+        assertEquals(1, element.next.reads.get());
+
+        // fragments are kept per recursive level, next is rendered again at the top level
+        logger.with("a", element).with("b", element.next).info("Immutable");
+        logger.with("a", element).with("b", element.next).info("Immutable");
+
+        String message = getLoggingEvent().getFormattedMessage();
+
+        assertTrue(message, message.contains("b.ImmutableElement.name=\"second\""));
+        assertEquals(1, element.reads.get());
+        assertEquals(2, element.next.reads.get());
+
+        // the cached fragment is shared with every event it is replayed into, so it must not be changed through any of them
+        Map<String, Object> rendered = (Map<String, Object>) configs.getRenderCache().get(element, 0).getRendered();
+
+        try {
+            ((Map<String, Object>) rendered.get("next")).put("name", "changed");
+
+            fail("cached fragment should be read only");
+        }
+        catch (UnsupportedOperationException e) {
+            assertEquals("second", ((Map<String, Object>) rendered.get("next")).get("name"));
+        }
+    }
+
+    @Test
+    public void test_immutable_types() {
+        LoggingConfigs configs = LoggingConfigs.builder().build().withImmutableTypes(Engine.class);
+
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, configs);
+
+        Engine engine = new Engine("V8");
+
+        logger.with(engine).info("Engine");
+
+        assertEquals(1, configs.getRenderCache().size());
+
+        configs.addOverride(Engine.class, e -> "engine");
+
+        assertEquals(0, configs.getRenderCache().size());
+
+        logger.with(engine).info("Engine");
+
+        assertEquals("Engine; engine", getLoggingEvent().getFormattedMessage());
+    }
+
+    @Test
+    public void test_render_cache_releases_objects() throws InterruptedException {
+        LoggingConfigs configs = LoggingConfigs.builder().build();
+
+        Logger logger = LoggerFactory.getLogger(LoggerTests.class, configs);
+
+        logger.with(new ImmutableElement("first", new ImmutableElement("second", null))).info("Immutable");
+
+        assertEquals(2, configs.getRenderCache().size());
+
+        // fragments don't reference their objects, once the objects are collected their entries go
+        for (int i = 0; i < 50 && configs.getRenderCache().size() > 0; i++) {
+            System.gc();
+
+            Thread.sleep(20);
+        }
+
+        assertEquals(0, configs.getRenderCache().size());
+    }
+
+    @LoggingImmutable
+    public static class ImmutableElement {
+        private final String name;
+
+        private final ImmutableElement next;
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        ImmutableElement(String name, ImmutableElement next) {
+            this.name = name;
+            this.next = next;
+        }
+
+        public String getName() {
+            reads.incrementAndGet();
+
+            return name;
+        }
+
+        public ImmutableElement getNext() {
+            return next;
+        }
+    }
+
     @Test
     public void test_collection_filter() {
         Logger customLogger = LoggerFactory.getLogger(LoggerTests.class,
@@ -536,6 +1508,144 @@ public class LoggerTests {
 
     }
 
+    @Test
+    public void test_render_profiler() throws Exception {
+        RenderProfiler profiler = new RenderProfiler(true).register("LoggerTests");
+
+        try {
+            Logger profiledLogger = LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().build().withRenderProfiler(profiler));
+
+            profiledLogger.with(new GetterThrowsError()).info("test");
+            profiledLogger.with("car", new Car("911", 2015, "Porsche", 70000.00, Country.GERMANY, new Engine("V12"))).info("test");
+
+            RenderCost errorCost = profiler.getClassCost(GetterThrowsError.class).get();
+
+            assertEquals(1, errorCost.getInvocations());
+            assertEquals(1, errorCost.getGetterCalls());
+            assertEquals(1, errorCost.getExceptionsSwallowed());
+
+            RenderCost carCost = profiler.getClassCost(Car.class).get();
+
+            assertEquals(1, carCost.getInvocations());
+            assertEquals(7, carCost.getGetterCalls());
+            assertEquals(7, carCost.getValuesRendered());
+            assertTrue(carCost.getOutputChars() > 0);
+            assertEquals(0, carCost.getExceptionsSwallowed());
+
+            assertEquals(2, profiler.getCallSiteCosts().size());
+            assertTrue(profiler.getCallSiteCosts().get(0).getName().startsWith(LoggerTests.class.getName() + ".test_render_profiler"));
+
+            CompositeData[] classCosts = (CompositeData[]) ManagementFactory.getPlatformMBeanServer()
+                                                                             .getAttribute(new ObjectName(RenderProfiler.OBJECT_NAME_PREFIX + ObjectName.quote("LoggerTests")),
+                                                                                           "ClassCosts");
+
+            assertEquals(2, classCosts.length);
+        }
+        finally {
+            profiler.unregister();
+        }
+    }
+
+    @Test
+    public void test_volume_tracker() throws Exception {
+        VolumeTracker tracker = new VolumeTracker(4, 2);
+
+        Logger trackedLogger = LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().build().withVolumeTracker(tracker));
+
+        Thread other = new Thread(() -> IntStream.range(0, 50).forEach(i -> trackedLogger.info("hot {}", i)));
+
+        other.start();
+
+        IntStream.range(0, 50).forEach(i -> trackedLogger.info("hot {}", i));
+        IntStream.range(0, 20).forEach(i -> trackedLogger.with("payload", Lists.newArrayList(1, 2, 3, 4, 5)).warn("large"));
+        IntStream.range(0, 20).forEach(i -> trackedLogger.debug("cold " + i));
+
+        other.join();
+
+        List<HeavyHitter> byEvents = tracker.getTopByEvents();
+
+        assertEquals(2, byEvents.size());
+        assertEquals("hot {}", byEvents.get(0).getTemplate());
+        assertEquals(Level.INFO, byEvents.get(0).getLevel());
+        assertEquals(LoggerTests.class.getName(), byEvents.get(0).getLoggerName());
+        assertEquals(100, byEvents.get(0).getCount());
+        assertEquals(0, byEvents.get(0).getError());
+
+        HeavyHitter large = tracker.getTopByBytes(1).get(0);
+
+        assertEquals("large", large.getTemplate());
+        assertEquals(Level.WARN, large.getLevel());
+        assertEquals(20 * "large; payload=[1, 2, 3, 4, 5]".length(), large.getCount());
+
+        tracker.reset();
+
+        assertTrue(tracker.getTopByEvents().isEmpty());
+
+        trackedLogger.info("gr\u00f6\u00dfe \uD83D\uDE97");
+
+        // output is counted in UTF-8 bytes, two for each of \u00f6 and \u00df and four for the surrogate pair
+        assertEquals(12, tracker.getTopByBytes(1).get(0).getCount());
+    }
+
+    @Test
+    public void test_explain() {
+        RenderExplanation explanation = LoggingConfigs.builder().build().explain(AnnotatedPojo.class);
+
+        assertEquals(Lists.newArrayList("hashAnnotationProperty", "noAnnotationProperty", "hashAnnotationField", "noAnnotationField"),
+                     explanation.getMembers().stream().map(RenderExplanation.Member::getKey).collect(toList()));
+
+        assertEquals("getHashAnnotationProperty()", explanation.getMembers().get(0).getSource());
+        assertEquals(Scope.HASH, explanation.getMembers().get(0).getScope());
+        assertEquals(RenderExplanation.Rendering.HASHED, explanation.getMembers().get(0).getRendering());
+        assertEquals(RenderExplanation.Rendering.VALUE, explanation.getMembers().get(1).getRendering());
+    }
+
+    @Test
+    public void test_explain_matches_recursive_level() {
+        RenderProfiler profiler = new RenderProfiler();
+
+        LoggingConfigs configs = LoggingConfigs.builder().recursiveLevel(1).build().withRenderProfiler(profiler).withOverride(UUID.class, UUID::toString);
+
+        Car car = new Car("911", 2015, "Porsche", 70000.00, Country.GERMANY, new Engine("V12"));
+
+        LoggerFactory.getLogger(LoggerTests.class, configs).with(car).info("test");
+
+        assertEquals("test; Car.cost=70000.0; Car.country=GERMANY", getLoggingEvent().getFormattedMessage());
+
+        RenderExplanation explanation = configs.explain(Car.class);
+
+        Map<String, RenderExplanation.Rendering> renderings =
+                explanation.getMembers().stream().collect(Collectors.toMap(RenderExplanation.Member::getKey, RenderExplanation.Member::getRendering));
+
+        assertEquals(RenderExplanation.Rendering.VALUE, renderings.get("cost"));
+        assertEquals(RenderExplanation.Rendering.VALUE, renderings.get("country"));
+        assertEquals(RenderExplanation.Rendering.OBJECT, renderings.get("engine"));
+        assertEquals(RenderExplanation.Rendering.CUT, renderings.get("model"));
+        assertEquals(RenderExplanation.Rendering.CUT, renderings.get("test"));
+
+        RenderExplanation engine = explanation.getMembers().get(2).getNested();
+
+        assertEquals(Engine.class, engine.getType());
+        assertEquals(RenderExplanation.Rendering.CUT, engine.getMembers().get(0).getRendering());
+
+        assertEquals(1, explanation.getMeasuredCost().getInvocations());
+        assertTrue(explanation.toString().startsWith(Car.class.getName() + " (1 renders"));
+
+        assertEquals(UUID.class, configs.explain(UUID.class).getCustomMapper());
+    }
+
+    @Test
+    public void test_loggers_are_cached_per_configs() {
+        LoggingConfigs configs = LoggingConfigs.builder().build();
+
+        Logger cached = LoggerFactory.getLogger(LoggerTests.class, configs);
+
+        assertTrue(cached == LoggerFactory.getLogger(LoggerTests.class, configs));
+        assertTrue(cached != LoggerFactory.getLogger(Car.class, configs));
+        assertTrue(cached != LoggerFactory.getLogger(LoggerTests.class, configs.withRecursiveLevel(2)));
+        assertTrue(cached != LoggerFactory.getLogger(LoggerTests.class, LoggingConfigs.builder().build()));
+    }
+
     private LoggingEvent getLoggingEvent() {
         verify(mockAppender, atLeastOnce()).doAppend(captorLoggingEvent.capture());
         return captorLoggingEvent.getValue();
@@ -44,6 +44,7 @@ import com.godaddy.logging.models.EmptyObject;
 import com.godaddy.logging.models.Engine;
 import com.godaddy.logging.models.GetterThrowsError;
 import com.godaddy.logging.models.Person;
+import com.godaddy.logging.profiling.VolumeTracker;
 import com.google.common.collect.Lists;
 import net.logstash.logback.encoder.LoggingEventCompositeJsonEncoder;
 import net.logstash.logback.marker.MapEntriesAppendingMarker;
@@ -53,15 +54,18 @@ import org.junit.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 public class LogstashTests {
 
@@ -123,6 +127,126 @@ public class LogstashTests {
         assertEquals(json.get("customMessage"), "test");
     }
 
+    @Test
+    public void test_primitive_arrays() throws IOException {
+        logger.with("doubles", new double[]{ 0.5, 1.5 })
+              .with("bytes", new byte[]{ -1, 2 })
+              .with("many", IntStream.range(0, 100).toArray())
+              .info("arrays");
+
+        Map<String, Object> json = getJson();
+
+        assertEquals(Arrays.asList(0.5, 1.5), json.get("doubles"));
+        assertEquals(Arrays.asList(-1, 2), json.get("bytes"));
+        assertEquals(51, ((List) json.get("many")).size());
+        assertEquals("... (100 total)", ((List) json.get("many")).get(50));
+    }
+
+    @Test
+    public void test_array_summary() throws IOException {
+        Logger summaryLogger = LoggerFactory.getLogger(LogstashTests.class, LoggingConfigs.builder().build().useJson().withArraySummaryTypes(long[].class));
+
+        summaryLogger.with("latencies", new long[]{ 5, 1, 9, 3 }).info("summary");
+
+        Map<String, Object> summary = (Map<String, Object>) getJson().get("latencies");
+
+        assertEquals(4, summary.get("length"));
+        assertEquals(1, summary.get("min"));
+        assertEquals(9, summary.get("max"));
+        assertEquals(4.5, summary.get("mean"));
+        assertEquals(Arrays.asList(5, 1, 9), summary.get("first"));
+        assertEquals(Arrays.asList(1, 9, 3), summary.get("last"));
+    }
+
+    @Test
+    public void test_immutable_render_cache() throws IOException {
+        LoggingConfigs configs = LoggingConfigs.builder().build().useJson().withImmutableTypes(Car.class);
+
+        Logger cachingLogger = LoggerFactory.getLogger(LogstashTests.class, configs);
+
+        Car car = new Car("911", 2015, "Porsche", 70000.00, Country.GERMANY, new Engine("V8"));
+
+        cachingLogger.with(car).info("cached");
+
+        Map<String, Object> rendered = getJson();
+
+        assertEquals("V8", ((Map<String, Object>) ((Map<String, Object>) rendered.get("Car")).get("engine")).get("name"));
+
+        listAppender.list.clear();
+
+        cachingLogger.with(car).info("cached");
+
+        assertEquals(rendered.get("Car"), getJson().get("Car"));
+        assertEquals(1, configs.getRenderCache().size());
+    }
+
+    @Test
+    public void test_output_budgets() throws IOException {
+        Car car = new Car("911", 2015, "Porsche", 70000.00, Country.GERMANY, new Engine("V8"));
+
+        LoggerFactory.getLogger(LogstashTests.class, LoggingConfigs.builder().build().useJson().withMaxFieldsPerObject(2))
+                     .with(car).info("fields");
+
+        Map<String, Object> rendered = (Map<String, Object>) getJson().get("Car");
+
+        assertEquals(Arrays.asList("cost", "country", "_total"), new ArrayList<>(rendered.keySet()));
+        assertEquals(7, rendered.get("_total"));
+
+        listAppender.list.clear();
+
+        LoggingConfigs configs = LoggingConfigs.builder().build().useJson().withImmutableTypes(Car.class).withEventBudget(3, 10000);
+
+        LoggerFactory.getLogger(LogstashTests.class, configs).with(car).info("nodes");
+
+        rendered = (Map<String, Object>) getJson().get("Car");
+
+        assertEquals("... (maxNodes reached)", rendered.get("engine"));
+        assertFalse(rendered.containsKey("make"));
+        assertEquals(0, configs.getRenderCache().size());
+    }
+
+    @Test
+    public void test_volume_tracker() {
+        VolumeTracker tracker = new VolumeTracker();
+
+        Logger tracked = LoggerFactory.getLogger(LogstashTests.class, LoggingConfigs.builder().build().useJson().withVolumeTracker(tracker));
+
+        tracked.with(new Engine("V8")).info("engine");
+
+        // the message, plus the rendered key and value counted while rendering and the JSON syntax estimated for the
+        // engine and its name, close to the {"Engine":{"name":"V8"}} the marker is written as
+        assertEquals("engine".length() + "nameV8".length() + 2 * 4, tracker.getTopByBytes(1).get(0).getCount());
+    }
+
+    @Test
+    public void test_projections() throws IOException {
+        Car car = new Car("911", 2015, "Porsche", 70000.00, Country.GERMANY, new Engine("V8"));
+
+        LoggingConfigs configs = LoggingConfigs.builder().build().useJson().withImmutableTypes(Car.class);
+
+        Logger projecting = LoggerFactory.getLogger(LogstashTests.class, configs);
+
+        projecting.with(car, "model", "engine.name").info("projected");
+
+        assertEquals("{\n" +
+                     "  \"Car\" : {\n" +
+                     "    \"engine\" : {\n" +
+                     "      \"name\" : \"V8\"\n" +
+                     "    },\n" +
+                     "    \"model\" : \"911\"\n" +
+                     "  }\n" +
+                     "}", getMarkers());
+
+        // the projected render of an immutable object must not be reused for the whole object
+        assertEquals(0, configs.getRenderCache().size());
+
+        listAppender.list.clear();
+
+        projecting.with(car).info("whole");
+
+        assertEquals(7, ((Map<String, Object>) getJson().get("Car")).size());
+    }
+
     @Test
     public void test_cycles() throws IOException {
         CycleObject cycleObject = new CycleObject();
@@ -235,41 +359,41 @@ public class LogstashTests {
 
         String expected = "{\n" +
                           "  \"Person\" : {\n" +
-                          "    \"myCar\" : {\n" +
-                          "      \"country\" : \"USA\",\n" +
-                          "      \"cost\" : 55000.2,\n" +
-                          "      \"test\" : \"HI\",\n" +
-                          "      \"engine\" : {\n" +
-                          "        \"name\" : \"V8\"\n" +
-                          "      },\n" +
-                          "      \"year\" : 2011,\n" +
-                          "      \"model\" : \"Mustang\",\n" +
-                          "      \"make\" : \"Ford\"\n" +
-                          "    },\n" +
+                          "    \"age\" : 25,\n" +
                           "    \"cars\" : [ {\n" +
-                          "      \"country\" : \"GERMANY\",\n" +
                           "      \"cost\" : 45000.2,\n" +
-                          "      \"test\" : \"HI\",\n" +
+                          "      \"country\" : \"GERMANY\",\n" +
                           "      \"engine\" : {\n" +
                           "        \"name\" : \"V6\"\n" +
                           "      },\n" +
-                          "      \"year\" : 2010,\n" +
+                          "      \"make\" : \"Audi\",\n" +
                           "      \"model\" : \"A4\",\n" +
-                          "      \"make\" : \"Audi\"\n" +
+                          "      \"year\" : 2010,\n" +
+                          "      \"test\" : \"HI\"\n" +
                           "    }, {\n" +
-                          "      \"country\" : \"JAPAN\",\n" +
                           "      \"cost\" : 25000.5,\n" +
-                          "      \"test\" : \"HI\",\n" +
+                          "      \"country\" : \"JAPAN\",\n" +
                           "      \"engine\" : {\n" +
                           "        \"name\" : \"V6\"\n" +
                           "      },\n" +
-                          "      \"year\" : 2012,\n" +
+                          "      \"make\" : \"Honda\",\n" +
                           "      \"model\" : \"Element\",\n" +
-                          "      \"make\" : \"Honda\"\n" +
+                          "      \"year\" : 2012,\n" +
+                          "      \"test\" : \"HI\"\n" +
                           "    } ],\n" +
+                          "    \"myCar\" : {\n" +
+                          "      \"cost\" : 55000.2,\n" +
+                          "      \"country\" : \"USA\",\n" +
+                          "      \"engine\" : {\n" +
+                          "        \"name\" : \"V8\"\n" +
+                          "      },\n" +
+                          "      \"make\" : \"Ford\",\n" +
+                          "      \"model\" : \"Mustang\",\n" +
+                          "      \"year\" : 2011,\n" +
+                          "      \"test\" : \"HI\"\n" +
+                          "    },\n" +
                           "    \"name\" : \"bob\",\n" +
-                          "    \"retired\" : false,\n" +
-                          "    \"age\" : 25\n" +
+                          "    \"retired\" : false\n" +
                           "  }\n" +
                           "}";
 
@@ -398,15 +522,15 @@ public class LogstashTests {
         String expected = "{\n" +
                           "  \"name\" : \"Brendan\",\n" +
                           "  \"car\" : {\n" +
-                          "    \"country\" : \"JAPAN\",\n" +
                           "    \"cost\" : 25000.5,\n" +
-                          "    \"test\" : \"HI\",\n" +
+                          "    \"country\" : \"JAPAN\",\n" +
                           "    \"engine\" : {\n" +
                           "      \"name\" : \"V6\"\n" +
                           "    },\n" +
-                          "    \"year\" : 2012,\n" +
+                          "    \"make\" : \"Honda\",\n" +
                           "    \"model\" : \"Element\",\n" +
-                          "    \"make\" : \"Honda\"\n" +
+                          "    \"year\" : 2012,\n" +
+                          "    \"test\" : \"HI\"\n" +
                           "  },\n" +
                           "  \"age\" : 27\n" +
                           "}";
@@ -425,13 +549,13 @@ public class LogstashTests {
 
         String expected = "{\n" +
                           "  \"Car\" : {\n" +
-                          "    \"country\" : \"GERMANY\",\n" +
                           "    \"cost\" : 70000.0,\n" +
-                          "    \"test\" : \"HI\",\n" +
+                          "    \"country\" : \"GERMANY\",\n" +
                           "    \"engine\" : null,\n" +
-                          "    \"year\" : 2015,\n" +
+                          "    \"make\" : \"Porsche\",\n" +
                           "    \"model\" : \"911\",\n" +
-                          "    \"make\" : \"Porsche\"\n" +
+                          "    \"year\" : 2015,\n" +
+                          "    \"test\" : \"HI\"\n" +
                           "  }\n" +
                           "}";
 
@@ -486,15 +610,15 @@ public class LogstashTests {
                                    "    \"Test\" : \"Logstash\",\n" +
                                    "    \"Car\" : {\n" +
                                    "      \"Car\" : {\n" +
-                                   "        \"country\" : \"GERMANY\",\n" +
                                    "        \"cost\" : 45000.2,\n" +
-                                   "        \"test\" : \"HI\",\n" +
+                                   "        \"country\" : \"GERMANY\",\n" +
                                    "        \"engine\" : {\n" +
                                    "          \"name\" : \"V6\"\n" +
                                    "        },\n" +
-                                   "        \"year\" : 2010,\n" +
+                                   "        \"make\" : \"Audi\",\n" +
                                    "        \"model\" : \"A4\",\n" +
-                                   "        \"make\" : \"Audi\"\n" +
+                                   "        \"year\" : 2010,\n" +
+                                   "        \"test\" : \"HI\"\n" +
                                    "      }\n" +
                                    "    },\n" +
                                    "    \"Engine\" : {\n" +